@@ -0,0 +1,127 @@
+package com.example.hometutions;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.hometutions.models.Teacher;
+import com.example.hometutions.services.TeacherMapper;
+import com.google.firebase.database.core.utilities.encoding.CustomClassMapper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares {@link TeacherMapper} with the reflective mapping used by
+ * DataSnapshot.getValue(Teacher.class) on 10k teacher records. Both start
+ * from the raw value a snapshot holds; timings are written to logcat.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TeacherMapperBenchmark {
+    private static final String TAG = "TeacherMapperBenchmark";
+
+    private static final int TEACHERS = 10_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void mapTenThousandTeachers() {
+        List<Map<String, Object>> records = new ArrayList<>(TEACHERS);
+        for (int i = 0; i < TEACHERS; i++) {
+            records.add(record(i));
+        }
+
+        // Warm up both paths (class loading, reflection caches, JIT)
+        mapReflective(records);
+        mapHandWritten(records);
+
+        long reflective = Long.MAX_VALUE;
+        long handWritten = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            mapReflective(records);
+            reflective = Math.min(reflective, SystemClock.elapsedRealtimeNanos() - startedAt);
+
+            startedAt = SystemClock.elapsedRealtimeNanos();
+            mapHandWritten(records);
+            handWritten = Math.min(handWritten, SystemClock.elapsedRealtimeNanos() - startedAt);
+        }
+        Log.i(TAG, "Mapped " + TEACHERS + " teachers: reflective " + reflective / 1_000_000 + " ms, "
+                + "hand-written " + handWritten / 1_000_000 + " ms ("
+                + String.format(java.util.Locale.ROOT, "%.1f", (double) reflective / handWritten) + "x)");
+
+        // Same result for the fields both paths fill
+        Teacher expected = CustomClassMapper.convertToCustomClass(records.get(7), Teacher.class);
+        Teacher actual = TeacherMapper.fromValue("teacher7", records.get(7));
+        assertEquals(expected.getFullName(), actual.getFullName());
+        assertEquals(expected.getSubjectsTaught(), actual.getSubjectsTaught());
+        assertEquals(expected.getYearsOfExperience(), actual.getYearsOfExperience());
+        assertEquals(expected.getHourlyRate(), actual.getHourlyRate());
+        assertEquals(expected.getLatitude(), actual.getLatitude());
+        assertEquals(expected.isVerified(), actual.isVerified());
+        // Legacy duplicates are filled in by the mapper only
+        assertEquals("Physics, Chemistry, Mathematics", actual.getSubjects());
+        assertEquals(expected.getHighestQualification(), actual.getQualification());
+    }
+
+    private static int mapReflective(List<Map<String, Object>> records) {
+        int mapped = 0;
+        for (Map<String, Object> record : records) {
+            if (CustomClassMapper.convertToCustomClass(record, Teacher.class) != null) mapped++;
+        }
+        return mapped;
+    }
+
+    private static int mapHandWritten(List<Map<String, Object>> records) {
+        int mapped = 0;
+        for (int i = 0; i < records.size(); i++) {
+            if (TeacherMapper.fromValue("teacher" + i, records.get(i)) != null) mapped++;
+        }
+        return mapped;
+    }
+
+    /**
+     * A full /teachers record as the database returns it (numbers as Long or Double)
+     */
+    private static Map<String, Object> record(int i) {
+        Map<String, Object> record = new HashMap<>();
+        record.put("userId", "teacher" + i);
+        record.put("fullName", "Teacher " + i);
+        record.put("email", "teacher" + i + "@example.com");
+        record.put("phoneNumber", "98765" + String.format(java.util.Locale.ROOT, "%05d", i));
+        record.put("address", "Sector " + (i % 50) + ", Pune, Maharashtra");
+        record.put("gender", i % 2 == 0 ? "Female" : "Male");
+        record.put("age", (long) (25 + i % 30));
+        record.put("highestQualification", "M.Sc");
+        record.put("institution", "University " + (i % 20));
+        record.put("yearsOfExperience", (long) (i % 15));
+        record.put("subjectsTaught", Arrays.asList("Physics", "Chemistry", "Mathematics"));
+        record.put("teachingStreams", Arrays.asList("JEE Preparation", "12th Class"));
+        record.put("hourlyRate", (long) (300 + i % 10 * 50));
+        record.put("rating", "4." + i % 10);
+        record.put("availability", "Evenings");
+        record.put("verified", i % 3 == 0);
+        record.put("documentsVerified", false);
+        record.put("userType", "teacher");
+        record.put("createdAt", 1700000000000L + i);
+        record.put("latitude", 18.5 + i % 100 / 1000.0);
+        record.put("longitude", 73.8 + i % 100 / 1000.0);
+        String photo = "https://firebasestorage.googleapis.com/v0/b/app/o/profile_photos%2Fteacher" + i;
+        record.put("profileImageUrl", photo + "%2Fphoto?alt=media");
+        record.put("profileThumbnailUrl", photo + "%2Fthumb?alt=media");
+        record.put("profileBlurHash", "LEHV6nWB2yk8pyo0adR*.7kCMdnj");
+        record.put("aadharCardUrl", "https://firebasestorage.googleapis.com/v0/b/app/o/documents%2Fteacher" + i + "%2Faadhar");
+        record.put("panCardUrl", "https://firebasestorage.googleapis.com/v0/b/app/o/documents%2Fteacher" + i + "%2Fpan");
+        record.put("degreeCertificateUrl", "https://firebasestorage.googleapis.com/v0/b/app/o/documents%2Fteacher" + i + "%2Fdegree");
+        record.put("bio", "Experienced tutor for board and entrance exams.");
+        return record;
+    }
+}
@@ -4,6 +4,8 @@ import android.app.Application;
 import android.content.Context;
 import android.util.Log;
 
+import com.example.hometutions.services.ImageDecodeService;
+
 public class HomeTutionsApplication extends Application {
     
     private static final String TAG = "HomeTutionsApplication";
@@ -164,6 +166,13 @@ public class HomeTutionsApplication extends Application {
         }
     }
     
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // Glide trims its own caches (see BitmapMemoryCache.trimMemory)
+        Log.d(TAG, "Trim memory level " + level + ", image caches: " + ImageDecodeService.getInstance().getCacheStats());
+    }
+    
     public static HomeTutionsApplication getInstance() {
         return instance;
     }
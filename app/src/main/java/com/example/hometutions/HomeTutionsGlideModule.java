@@ -0,0 +1,43 @@
+package com.example.hometutions;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.module.AppGlideModule;
+import com.example.hometutions.services.ImageDecodeService;
+import com.example.hometutions.utils.InlineImageModelLoader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Glide setup for the app. Profile photos and documents written by older
+ * versions are Base64 strings, so those get their own loader in front of
+ * Glide's URL handling. Glide's caches are swapped for ones that count hits,
+ * misses and evictions.
+ */
+@GlideModule
+public class HomeTutionsGlideModule extends AppGlideModule {
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        ImageDecodeService images = ImageDecodeService.getInstance();
+        builder.setMemoryCache(images.getMemoryCache());
+        // A null disk cache makes Glide fall back to not caching on disk
+        builder.setDiskCache(images::getDiskCache);
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        registry.prepend(String.class, ByteBuffer.class, new InlineImageModelLoader.Factory());
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.hometutions;
 
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,27 +20,52 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.hometutions.adapters.TeacherAdapter;
+import com.example.hometutions.models.Student;
 import com.example.hometutions.models.Teacher;
+import com.example.hometutions.services.CoordinateBackfillJob;
+import com.example.hometutions.services.FirebaseDatabaseService;
+import com.example.hometutions.services.ImageDecodeService;
+import com.example.hometutions.services.ImageMigrationJob;
+import com.example.hometutions.services.PagedTeacherSource;
+import com.example.hometutions.services.ProfileRepository;
+import com.example.hometutions.services.StudentKeyResolver;
+import com.example.hometutions.services.TeacherStore;
+import com.example.hometutions.utils.FilterPipeline;
+import com.example.hometutions.utils.LocationUtils;
+import com.example.hometutions.utils.TeacherFuzzyIndex;
+import com.example.hometutions.utils.TeacherGeoIndex;
+import com.example.hometutions.utils.TeacherRanker;
+import com.example.hometutions.utils.TeacherSearchIndex;
+import com.google.android.material.textfield.MaterialAutoCompleteTextView;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeacherClickListener {
 
     private static final String TAG = "StudentDashboard";
+    private static final int PREFETCH_DISTANCE = 5; // load the next page this many cards before the end
+    private static final int MIN_VISIBLE_TEACHERS = 5;
+    private static final int RECOMMENDED_LIMIT = 50; // top matches kept in the carousel
+    private static final long FILTER_DEBOUNCE_MS = 250;
+    private static final int LOCATION_SUGGESTION_LIMIT = 6;
     
     private View rootView;
     private FirebaseAuth mAuth;
     private FirebaseUser currentUser;
-    private DatabaseReference databaseRef;
     
     // UI Elements
     private TextView studentNameText;
@@ -46,11 +73,22 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
     private Spinner tuitionStreamSpinner;
     private Spinner subjectFilterSpinner;
     private Spinner distanceRangeSpinner;
-    private TextInputEditText locationEditText;
+    private MaterialAutoCompleteTextView locationEditText;
+    private ArrayAdapter<String> locationSuggestionAdapter;
+    private TextInputEditText searchEditText;
     private RecyclerView recommendedTeachersRecyclerView;
     private TeacherAdapter teacherAdapter;
-    private List<Teacher> teachersList;
-    private List<Teacher> allTeachersList; // master list for filtering
+    private List<Teacher> teachersList; // last filtered snapshot handed to the adapter
+    private TeacherSearchIndex teacherIndex; // master index for filtering
+    private TeacherGeoIndex teacherGeoIndex; // teacher coordinates for distance filtering
+    private TeacherFuzzyIndex teacherFuzzyIndex; // typo tolerant name/subject/institution search
+    private PagedTeacherSource teacherPageSource;
+    private TeacherStore teacherStore; // teachers from the last visit, shown before the network answers
+    private Double studentLatitude;
+    private Double studentLongitude;
+    private TeacherRanker teacherRanker; // null until the student's profile is loaded
+    private FilterPipeline<FilterResult> filterPipeline; // runs filter queries off the main thread
+    private boolean announceEmptyResult; // toast if the pending query finds nothing
 
     public StudentDashboard() {
         // Required empty public constructor
@@ -61,9 +99,34 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         super.onCreate(savedInstanceState);
         mAuth = FirebaseAuth.getInstance();
         currentUser = mAuth.getCurrentUser();
-        databaseRef = FirebaseDatabase.getInstance().getReference();
         teachersList = new ArrayList<>();
-        allTeachersList = new ArrayList<>();
+        teacherIndex = new TeacherSearchIndex();
+        teacherGeoIndex = new TeacherGeoIndex();
+        teacherFuzzyIndex = new TeacherFuzzyIndex();
+        teacherStore = TeacherStore.getInstance(requireContext());
+        teacherPageSource = new PagedTeacherSource(PagedTeacherSource.DEFAULT_PAGE_SIZE);
+        teacherPageSource.setChangeListener(new PagedTeacherSource.ChangeListener() {
+            @Override
+            public void onTeacherAdded(Teacher teacher) {
+                indexTeacher(teacher);
+                teacherStore.put(teacher);
+                onTeacherUpdated();
+            }
+
+            @Override
+            public void onTeacherChanged(Teacher teacher) {
+                indexTeacher(teacher);
+                teacherStore.put(teacher);
+                onTeacherUpdated();
+            }
+
+            @Override
+            public void onTeacherRemoved(String teacherId) {
+                unindexTeacher(teacherId);
+                teacherStore.remove(teacherId);
+                onTeacherUpdated();
+            }
+        });
     }
 
     @Override
@@ -78,6 +141,7 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         
+        filterPipeline = new FilterPipeline<>(this::onTeachersFiltered);
         initializeViews();
         setupStudentName();
         setupSpinners();
@@ -86,6 +150,14 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         loadRecommendedTeachers();
     }
     
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        // Stop live teacher sync while the view is gone
+        teacherPageSource.reset();
+        filterPipeline.shutdown();
+    }
+    
     private void initializeViews() {
         studentNameText = rootView.findViewById(R.id.studentNameText);
         profilePhoto = rootView.findViewById(R.id.profilePhoto);
@@ -93,6 +165,7 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         subjectFilterSpinner = rootView.findViewById(R.id.subjectFilterSpinner);
         distanceRangeSpinner = rootView.findViewById(R.id.distanceRangeSpinner);
         locationEditText = rootView.findViewById(R.id.locationEditText);
+        searchEditText = rootView.findViewById(R.id.searchEditText);
         recommendedTeachersRecyclerView = rootView.findViewById(R.id.recommendedTeachersRecyclerView);
     }
     
@@ -107,10 +180,30 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         if (currentUser == null) return;
         
         final String uid = currentUser.getUid();
-        DatabaseReference studentRef = databaseRef.child("students").child(uid);
-        studentRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        StudentKeyResolver.getInstance(requireContext()).resolve(uid, currentUser.getEmail(),
+                new FirebaseDatabaseService.DatabaseCallback<String>() {
+                    @Override
+                    public void onSuccess(String studentKey) {
+                        if (!isAdded()) return;
+                        // Shared with the profile tab, which reads the same record
+                        ProfileRepository.getInstance().read(ProfileRepository.studentPath(studentKey),
+                                studentRecordListener(uid));
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        if (!isAdded()) return;
+                        Log.w(TAG, "No student record: " + error);
+                        showFallbackStudentName();
+                    }
+                });
+    }
+    
+    private ValueEventListener studentRecordListener(String uid) {
+        return new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                if (!isAdded()) return;
                 if (dataSnapshot.exists()) {
                     // Fetch student name (handle non-string types safely)
                     String fullName = getStringSafely(dataSnapshot, "fullName");
@@ -119,6 +212,46 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
                     }
                     studentNameText.setText(fullName);
 
+                    // Student preferences drive the "Recommended" ranking
+                    Student student = null;
+                    try {
+                        student = dataSnapshot.getValue(Student.class);
+                        if (student != null) {
+                            teacherRanker = new TeacherRanker(student);
+                            applyFilters();
+                            if (getContext() != null) {
+                                new ImageMigrationJob(getContext()).migrateStudent(uid, dataSnapshot.getKey(), student);
+                            }
+                        }
+                    } catch (Exception e) {
+                        Log.w(TAG, "Failed to parse student profile for ranking: " + e.getMessage());
+                    }
+
+                    // Student coordinates drive the distance filter
+                    Double latitude = getDoubleSafely(dataSnapshot, "latitude");
+                    Double longitude = getDoubleSafely(dataSnapshot, "longitude");
+                    if (latitude != null && longitude != null) {
+                        studentLatitude = latitude;
+                        studentLongitude = longitude;
+                        applyFilters();
+                    } else if (student != null) {
+                        // Registered before coordinates were stored, or geocoding timed out
+                        new CoordinateBackfillJob(requireContext()).backfillStudent(dataSnapshot.getKey(), student,
+                                new FirebaseDatabaseService.DatabaseCallback<double[]>() {
+                                    @Override
+                                    public void onSuccess(double[] coordinates) {
+                                        if (!isAdded()) return;
+                                        studentLatitude = coordinates[0];
+                                        studentLongitude = coordinates[1];
+                                        applyFilters();
+                                    }
+
+                                    @Override
+                                    public void onFailure(String error) {
+                                    }
+                                });
+                    }
+
                     // Fetch and display profile image (Base64 or URL)
                     String profilePhotoUrl = getStringSafely(dataSnapshot, "profilePhotoUrl");
                     if (profilePhotoUrl != null && !profilePhotoUrl.trim().isEmpty()) {
@@ -127,89 +260,26 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
                         profilePhoto.setImageResource(R.drawable.ic_student_white);
                     }
                 } else {
-                    // Fallback 1: search by userId field equal to auth UID
-                    databaseRef.child("students").orderByChild("userId").equalTo(uid)
-                        .addListenerForSingleValueEvent(new ValueEventListener() {
-                            @Override
-                            public void onDataChange(@NonNull DataSnapshot byUserId) {
-                                if (byUserId.exists()) {
-                                    for (DataSnapshot child : byUserId.getChildren()) {
-                                        // Reuse same handling
-                                        onDataChange(child);
-                                        return;
-                                    }
-                                } else {
-                                    // Fallback 2: search by email field
-                                    String email = currentUser.getEmail();
-                                    databaseRef.child("students").orderByChild("email").equalTo(email)
-                                            .addListenerForSingleValueEvent(new ValueEventListener() {
-                                                @Override
-                                                public void onDataChange(@NonNull DataSnapshot byEmail) {
-                                                    if (byEmail.exists()) {
-                                                        for (DataSnapshot child : byEmail.getChildren()) {
-                                                            onDataChange(child);
-                                                            return;
-                                                        }
-                                                    } else {
-                                                        // Final fallback: scan all and match uid/email/userId
-                                                        databaseRef.child("students").addListenerForSingleValueEvent(new ValueEventListener() {
-                                                            @Override
-                                                            public void onDataChange(@NonNull DataSnapshot all) {
-                                                                for (DataSnapshot child : all.getChildren()) {
-                                                                    String key = child.getKey();
-                                                                    String childUserId = String.valueOf(child.child("userId").getValue());
-                                                                    String childEmail = String.valueOf(child.child("email").getValue());
-                                                                    if ((key != null && key.equals(uid)) ||
-                                                                        (childUserId != null && childUserId.equals(uid)) ||
-                                                                        (childEmail != null && childEmail.equals(email))) {
-                                                                        onDataChange(child);
-                                                                        return;
-                                                                    }
-                                                                }
-                                                                String fallbackName = getStudentNameFromEmail();
-                                                                studentNameText.setText(fallbackName);
-                                                                profilePhoto.setImageResource(R.drawable.ic_student_white);
-                                                            }
-
-                                                            @Override
-                                                            public void onCancelled(@NonNull DatabaseError error) {
-                                                                String fallbackName = getStudentNameFromEmail();
-                                                                studentNameText.setText(fallbackName);
-                                                                profilePhoto.setImageResource(R.drawable.ic_student_white);
-                                                            }
-                                                        });
-                                                    }
-                                                }
-
-                                                @Override
-                                                public void onCancelled(@NonNull DatabaseError error) {
-                                                    String fallbackName = getStudentNameFromEmail();
-                                                    studentNameText.setText(fallbackName);
-                                                    profilePhoto.setImageResource(R.drawable.ic_student_white);
-                                                }
-                                            });
-                                }
-                            }
-
-                            @Override
-                            public void onCancelled(@NonNull DatabaseError error) {
-                                String fallbackName = getStudentNameFromEmail();
-                                studentNameText.setText(fallbackName);
-                                profilePhoto.setImageResource(R.drawable.ic_student_white);
-                            }
-                        });
+                    // The mapped record is gone; resolve it again next time
+                    StudentKeyResolver.getInstance(requireContext()).forget(uid);
+                    showFallbackStudentName();
                 }
             }
 
             @Override
             public void onCancelled(@NonNull DatabaseError databaseError) {
+                if (!isAdded()) return;
                 Log.e(TAG, "Error fetching student data: " + databaseError.getMessage());
-                // Fallback to email extraction
-                String fallbackName = getStudentNameFromEmail();
-                studentNameText.setText(fallbackName);
-                profilePhoto.setImageResource(R.drawable.ic_student_white);
+                showFallbackStudentName();
             }
-        });
+        };
+    }
+    
+    private void showFallbackStudentName() {
+        // Fallback to email extraction
+        String fallbackName = getStudentNameFromEmail();
+        studentNameText.setText(fallbackName);
+        profilePhoto.setImageResource(R.drawable.ic_student_white);
     }
     
     private String getStudentNameFromEmail() {
@@ -234,42 +304,7 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
     }
     
     private void displayProfileImage(String profileImageData) {
-        try {
-            // Check if it's a Base64 string (starts with data:image or is a long Base64 string)
-            if (profileImageData.startsWith("data:image") || profileImageData.length() > 100) {
-                // Handle Base64 image data
-                if (profileImageData.startsWith("data:image")) {
-                    // Extract Base64 part from data URL
-                    String base64Data = profileImageData.substring(profileImageData.indexOf(",") + 1);
-                    byte[] imageBytes = android.util.Base64.decode(base64Data, android.util.Base64.DEFAULT);
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                    profilePhoto.setImageBitmap(bitmap);
-                } else {
-                    // Direct Base64 string
-                    byte[] imageBytes = android.util.Base64.decode(profileImageData, android.util.Base64.DEFAULT);
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                    profilePhoto.setImageBitmap(bitmap);
-                }
-                Log.d(TAG, "Profile image displayed successfully from Base64 data");
-            } else {
-                // Regular URL, load with Glide
-                try {
-                    com.bumptech.glide.Glide.with(this)
-                            .load(profileImageData)
-                            .placeholder(R.drawable.ic_student_white)
-                            .error(R.drawable.ic_student_white)
-                            .circleCrop()
-                            .into(profilePhoto);
-                } catch (Exception e) {
-                    profilePhoto.setImageResource(R.drawable.ic_student_white);
-                }
-                Log.d(TAG, "Profile image loaded from URL");
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to decode profile image: " + e.getMessage());
-            // Set default student icon on error
-            profilePhoto.setImageResource(R.drawable.ic_student_white);
-        }
+        ImageDecodeService.getInstance().load(profilePhoto, profileImageData, R.drawable.ic_student_white);
     }
 
     private String getStringSafely(DataSnapshot parent, String key) {
@@ -283,6 +318,18 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         }
     }
     
+    private Double getDoubleSafely(DataSnapshot parent, String key) {
+        Object value = parent.child(key).getValue();
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        if (value == null) return null;
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Failed to read '" + key + "' as Double: " + e.getMessage());
+            return null;
+        }
+    }
+    
     private void setupRecyclerView() {
         teacherAdapter = new TeacherAdapter(teachersList, this);
         
@@ -294,57 +341,81 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         // Set fixed height for the RecyclerView to prevent layout issues
         recommendedTeachersRecyclerView.setHasFixedSize(true);
         
+        // Endless scrolling: fetch the next page when nearing the end of the list
+        recommendedTeachersRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dx <= 0 || !teacherPageSource.hasMore()) return;
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= teacherAdapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextTeacherPage();
+                }
+            }
+        });
+        
         Log.d(TAG, "RecyclerView setup completed");
     }
     
     private void loadRecommendedTeachers() {
-        DatabaseReference teachersRef = databaseRef.child("teachers");
-        teachersRef.addValueEventListener(new ValueEventListener() {
+        teacherPageSource.reset();
+        clearTeacherIndexes();
+        
+        // Show the teachers stored on the last visit right away, then revalidate
+        // them page by page; the adapter diff only touches cards that changed
+        teacherStore.load(stored -> {
+            if (!isAdded()) return;
+            for (Teacher teacher : stored) {
+                indexTeacher(teacher);
+            }
+            if (!stored.isEmpty()) {
+                Log.d(TAG, "Showing " + stored.size() + " stored teachers while refreshing");
+                applyFilters();
+            }
+            loadNextTeacherPage();
+        });
+    }
+    
+    private void loadNextTeacherPage() {
+        final String pageStart = teacherPageSource.getLastKey();
+        teacherPageSource.loadNextPage(new PagedTeacherSource.PageCallback() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                allTeachersList.clear();
-                teachersList.clear();
-                for (DataSnapshot teacherSnapshot : dataSnapshot.getChildren()) {
-                    Teacher teacher = teacherSnapshot.getValue(Teacher.class);
-                    if (teacher != null) {
-                        teacher.setId(teacherSnapshot.getKey());
-                        allTeachersList.add(teacher);
-                        
-                        // Debug logging
-                        Log.d(TAG, "Loaded teacher: " + teacher.getFullName());
-                        Log.d(TAG, "  - Qualification: " + teacher.getHighestQualification());
-                        Log.d(TAG, "  - Experience: " + teacher.getYearsOfExperience());
-                        Log.d(TAG, "  - Address: " + teacher.getAddress());
-                        Log.d(TAG, "  - Subjects: " + teacher.getSubjectsTaught());
-                        Log.d(TAG, "  - Streams: " + teacher.getTeachingStreams());
-                    } else {
-                        Log.e(TAG, "Failed to parse teacher data for: " + teacherSnapshot.getKey());
-                    }
+            public void onPageLoaded(List<Teacher> page, boolean hasMore) {
+                if (!isAdded()) return;
+                for (Teacher teacher : page) {
+                    indexTeacher(teacher);
                 }
-                
-                // Apply current filters to fill visible list
-                applyFilters();
-                Log.d(TAG, "Loaded " + allTeachersList.size() + " teachers from database");
+                // Stored teachers the database no longer has, or that no page has revalidated yet
+                for (String teacherId : teacherStore.replaceAfter(pageStart, page)) {
+                    unindexTeacher(teacherId);
+                }
+                Log.d(TAG, "Loaded " + teacherIndex.size() + " teachers from database");
                 
                 // If no teachers loaded from database, load sample data
-                if (allTeachersList.isEmpty()) {
+                if (teacherIndex.size() == 0 && !hasMore) {
                     Log.d(TAG, "No teachers found in database, loading sample data");
                     loadSampleTeachers();
+                    return;
                 }
+                
+                // Apply current filters to fill visible list; more pages are
+                // fetched from onTeachersFiltered if the results are too few
+                applyFilters();
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError databaseError) {
-                Log.e(TAG, "Error loading teachers: " + databaseError.getMessage());
-                // Load sample data if database fails
-                loadSampleTeachers();
+            public void onFailure(String error) {
+                if (!isAdded()) return;
+                Log.e(TAG, "Error loading teachers: " + error);
+                // Load sample data if database fails on the first page and nothing is stored
+                if (teacherIndex.size() == 0) {
+                    loadSampleTeachers();
+                }
             }
         });
     }
     
     private void loadSampleTeachers() {
-        teachersList.clear();
-        allTeachersList.clear();
+        clearTeacherIndexes();
         
         // Create sample teachers with proper data structure
         Teacher teacher1 = new Teacher();
@@ -355,6 +426,8 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         teacher1.setHighestQualification("PhD");
         teacher1.setYearsOfExperience(8);
         teacher1.setAddress("Mumbai, Maharashtra");
+        teacher1.setLatitude(19.0760);
+        teacher1.setLongitude(72.8777);
         teacher1.setSubjectsTaught(java.util.Arrays.asList("Physics", "Chemistry"));
         teacher1.setTeachingStreams(java.util.Arrays.asList("JEE Preparation", "NEET Preparation"));
         teacher1.setRating("4.8");
@@ -368,6 +441,8 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         teacher2.setHighestQualification("M.Tech");
         teacher2.setYearsOfExperience(12);
         teacher2.setAddress("Delhi, NCR");
+        teacher2.setLatitude(28.7041);
+        teacher2.setLongitude(77.1025);
         teacher2.setSubjectsTaught(java.util.Arrays.asList("Mathematics", "Physics"));
         teacher2.setTeachingStreams(java.util.Arrays.asList("JEE Preparation", "12th Class"));
         teacher2.setRating("4.9");
@@ -381,16 +456,36 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
         teacher3.setHighestQualification("M.Sc");
         teacher3.setYearsOfExperience(5);
         teacher3.setAddress("Pune, Maharashtra");
+        teacher3.setLatitude(18.5204);
+        teacher3.setLongitude(73.8567);
         teacher3.setSubjectsTaught(java.util.Arrays.asList("Biology", "Chemistry"));
         teacher3.setTeachingStreams(java.util.Arrays.asList("NEET Preparation", "12th Class"));
         teacher3.setRating("4.7");
         teacher3.setVerified(false);
         
-        allTeachersList.add(teacher1);
-        allTeachersList.add(teacher2);
-        allTeachersList.add(teacher3);
+        indexTeacher(teacher1);
+        indexTeacher(teacher2);
+        indexTeacher(teacher3);
         applyFilters();
-        Log.d(TAG, "Loaded " + allTeachersList.size() + " sample teachers");
+        Log.d(TAG, "Loaded " + teacherIndex.size() + " sample teachers");
+    }
+    
+    private void indexTeacher(Teacher teacher) {
+        teacherIndex.put(teacher);
+        teacherGeoIndex.put(teacher);
+        teacherFuzzyIndex.put(teacher);
+    }
+
+    private void unindexTeacher(String teacherId) {
+        teacherIndex.remove(teacherId);
+        teacherGeoIndex.remove(teacherId);
+        teacherFuzzyIndex.remove(teacherId);
+    }
+
+    private void clearTeacherIndexes() {
+        teacherIndex.clear();
+        teacherGeoIndex.clear();
+        teacherFuzzyIndex.clear();
     }
     
     private void setupSpinners() {
@@ -448,63 +543,213 @@ public class StudentDashboard extends Fragment implements TeacherAdapter.OnTeach
             @Override
             public void onNothingSelected(android.widget.AdapterView<?> parent) { }
         });
+
+        distanceRangeSpinner.setOnItemSelectedListener(new android.widget.AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(android.widget.AdapterView<?> parent, View view, int position, long id) {
+                performSearch();
+            }
+
+            @Override
+            public void onNothingSelected(android.widget.AdapterView<?> parent) { }
+        });
+
+        // Location results and suggestions update as the student types
+        locationSuggestionAdapter = new ArrayAdapter<String>(requireContext(), android.R.layout.simple_dropdown_item_1line) {
+            @NonNull
+            @Override
+            public android.widget.Filter getFilter() {
+                // Suggestions are already computed from the index, show them as they are
+                return new android.widget.Filter() {
+                    @Override
+                    protected FilterResults performFiltering(CharSequence constraint) {
+                        return new FilterResults();
+                    }
+
+                    @Override
+                    protected void publishResults(CharSequence constraint, FilterResults results) { }
+                };
+            }
+        };
+        locationEditText.setAdapter(locationSuggestionAdapter);
+        locationEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) { }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                scheduleFilters(FILTER_DEBOUNCE_MS, false);
+            }
+        });
+
+        // Free-text search as the student types
+        searchEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) { }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                scheduleFilters(FILTER_DEBOUNCE_MS, false);
+            }
+        });
     }
 
     private void performSearch() {
-        applyFilters();
+        // Spinners fire in bursts (including once each when their adapters are set)
+        scheduleFilters(FILTER_DEBOUNCE_MS, true);
     }
 
     private void applyFilters() {
+        scheduleFilters(0, true);
+    }
+
+    /**
+     * Capture the current filter values on the main thread and hand the query to
+     * the pipeline. Only the latest query's result reaches the adapter.
+     */
+    private void scheduleFilters(long delayMs, boolean announceEmpty) {
+        if (filterPipeline == null) return;
+        announceEmptyResult |= announceEmpty;
+
         String selectedStream = tuitionStreamSpinner.getSelectedItem() != null ? tuitionStreamSpinner.getSelectedItem().toString() : "All Streams";
         String selectedSubject = subjectFilterSpinner.getSelectedItem() != null ? subjectFilterSpinner.getSelectedItem().toString() : "All Subjects";
         String locationQuery = locationEditText != null && locationEditText.getText() != null ? locationEditText.getText().toString().trim() : "";
+        String textQuery = searchEditText != null && searchEditText.getText() != null ? searchEditText.getText().toString().trim() : "";
 
-        teachersList.clear();
-        for (Teacher teacher : allTeachersList) {
-            if (teacher == null) continue;
+        String streamFilter = "All Streams".equalsIgnoreCase(selectedStream) ? null : selectedStream;
+        String subjectFilter = "All Subjects".equalsIgnoreCase(selectedSubject) ? null : selectedSubject;
+        String selectedDistance = distanceRangeSpinner.getSelectedItem() != null ? distanceRangeSpinner.getSelectedItem().toString() : "Any Distance";
 
-            boolean matchesStream = true;
-            if (!"All Streams".equalsIgnoreCase(selectedStream)) {
-                List<String> streams = teacher.getTeachingStreams();
-                matchesStream = streams != null && containsIgnoreCase(streams, selectedStream);
-            }
+        // Distance filter only applies once the student's coordinates are known
+        double[] range = LocationUtils.parseDistanceRange(selectedDistance);
+        final Double latitude = studentLatitude;
+        final Double longitude = studentLongitude;
+        if (range != null && (latitude == null || longitude == null)) {
+            Log.d(TAG, "Student location unknown, ignoring distance filter");
+            range = null;
+        }
+        final double[] distanceRange = range;
+        final TeacherRanker ranker = teacherRanker;
+        final boolean ranked = !textQuery.isEmpty() || ranker != null;
 
-            boolean matchesSubject = true;
-            if (!"All Subjects".equalsIgnoreCase(selectedSubject)) {
-                List<String> subjects = teacher.getSubjectsTaught();
-                String subjectsStr = teacher.getSubjects();
-                matchesSubject = (subjects != null && containsIgnoreCase(subjects, selectedSubject))
-                        || (subjectsStr != null && subjectsStr.toLowerCase().contains(selectedSubject.toLowerCase()));
-            }
+        filterPipeline.submit(() -> new FilterResult(
+                queryFilteredTeachers(streamFilter, subjectFilter, locationQuery, textQuery,
+                        distanceRange, latitude, longitude, ranker),
+                suggestLocations(locationQuery), ranked), delayMs);
+    }
 
-            boolean matchesLocation = true;
-            if (!locationQuery.isEmpty()) {
-                String address = teacher.getAddress();
-                String location = teacher.getLocation();
-                matchesLocation = (address != null && address.toLowerCase().contains(locationQuery.toLowerCase()))
-                        || (location != null && location.toLowerCase().contains(locationQuery.toLowerCase()));
-            }
+    /**
+     * Completions for the location being typed: the text with its last word
+     * replaced by indexed city, locality or pincode tokens.
+     */
+    private List<String> suggestLocations(String locationQuery) {
+        List<String> suggestions = new ArrayList<>();
+        List<String> tokens = TeacherSearchIndex.tokenize(locationQuery);
+        if (tokens.isEmpty() || tokens.get(tokens.size() - 1).length() < 2) return suggestions;
 
-            if (matchesStream && matchesSubject && matchesLocation) {
-                teachersList.add(teacher);
-            }
+        String lastToken = tokens.get(tokens.size() - 1);
+        String head = locationQuery.substring(0, locationQuery.toLowerCase(Locale.ROOT).lastIndexOf(lastToken));
+        for (String token : teacherIndex.suggestLocations(locationQuery, LOCATION_SUGGESTION_LIMIT)) {
+            if (!token.equals(lastToken)) suggestions.add(head + token);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Runs on the filter worker; the indexes are synchronized and the ranker is immutable
+     */
+    private List<Teacher> queryFilteredTeachers(String streamFilter, String subjectFilter, String locationQuery,
+                                                String textQuery, double[] distanceRange, Double latitude,
+                                                Double longitude, TeacherRanker ranker) {
+        Set<String> candidateIds = null;
+        if (distanceRange != null) {
+            candidateIds = teacherGeoIndex.withinRange(latitude, longitude, distanceRange[0], distanceRange[1]);
+        }
+
+        List<String> textMatches = null;
+        if (!textQuery.isEmpty()) {
+            // Uncapped: the stream, subject and location filters still apply below
+            textMatches = teacherFuzzyIndex.search(textQuery, candidateIds, Integer.MAX_VALUE);
+            candidateIds = new HashSet<>(textMatches);
         }
 
-        teacherAdapter.notifyDataSetChanged();
-        Log.d(TAG, "Search filters applied. Results: " + teachersList.size());
-        if (teachersList.isEmpty()) {
+        List<Teacher> matches = teacherIndex.query(streamFilter, subjectFilter, locationQuery, candidateIds);
+
+        // A typed search is ordered by how well the text matched
+        if (textMatches != null) {
+            Map<String, Integer> textRank = new HashMap<>();
+            for (int i = 0; i < textMatches.size(); i++) textRank.put(textMatches.get(i), i);
+            Collections.sort(matches, Comparator.comparingInt(teacher -> textRank.getOrDefault(teacher.getId(), Integer.MAX_VALUE)));
+            return matches.size() > RECOMMENDED_LIMIT ? new ArrayList<>(matches.subList(0, RECOMMENDED_LIMIT)) : matches;
+        }
+        
+        // Best matches for this student first
+        if (ranker != null) {
+            return ranker.topK(matches, RECOMMENDED_LIMIT);
+        }
+        return matches;
+    }
+
+    private void onTeachersFiltered(FilterResult result) {
+        if (!isAdded() || teacherAdapter == null) return;
+        boolean announceEmpty = announceEmptyResult;
+        announceEmptyResult = false;
+
+        showLocationSuggestions(result.locationSuggestions);
+        teachersList = result.teachers;
+        teacherAdapter.updateTeachers(teachersList);
+        Log.d(TAG, "Search filters applied. Results: " + teachersList.size()
+                + " in " + filterPipeline.getLastLatencyMs() + " ms");
+
+        // Keep fetching while the filtered results are too few to scroll. Ranked
+        // results are the best of what is loaded, so those page to the end
+        if ((result.ranked || teachersList.size() < MIN_VISIBLE_TEACHERS) && teacherPageSource.hasMore()) {
+            loadNextTeacherPage();
+        } else if (announceEmpty && teachersList.isEmpty() && !teacherPageSource.hasMore()) {
             Toast.makeText(requireContext(), "No teachers found. Try different filters.", Toast.LENGTH_SHORT).show();
         }
     }
 
-    private boolean containsIgnoreCase(List<String> list, String query) {
-        if (list == null || query == null) return false;
-        for (String item : list) {
-            if (item != null && item.equalsIgnoreCase(query)) return true;
+    private void showLocationSuggestions(List<String> suggestions) {
+        locationSuggestionAdapter.clear();
+        locationSuggestionAdapter.addAll(suggestions);
+        if (!suggestions.isEmpty() && locationEditText.hasFocus()) {
+            locationEditText.showDropDown();
+        } else {
+            locationEditText.dismissDropDown();
         }
-        return false;
     }
-    
+
+    /**
+     * Re-run the current filters after a live teacher update; bursts of updates
+     * are coalesced and the adapter diff only touches the cards that changed.
+     */
+    private void onTeacherUpdated() {
+        if (!isAdded() || teacherAdapter == null) return;
+        scheduleFilters(FILTER_DEBOUNCE_MS, false);
+    }
+
+    /**
+     * Output of one filter run, produced on the filter worker
+     */
+    private static class FilterResult {
+        final List<Teacher> teachers;
+        final List<String> locationSuggestions;
+        final boolean ranked; // teachers are the best RECOMMENDED_LIMIT matches
+
+        FilterResult(List<Teacher> teachers, List<String> locationSuggestions, boolean ranked) {
+            this.teachers = teachers;
+            this.locationSuggestions = locationSuggestions;
+            this.ranked = ranked;
+        }
+    }
+
     @Override
     public void onTeacherClick(Teacher teacher) {
         Toast.makeText(requireContext(), "Selected: " + teacher.getFullName(), Toast.LENGTH_SHORT).show();
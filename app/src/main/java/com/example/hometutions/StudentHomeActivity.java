@@ -11,6 +11,7 @@ import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.example.hometutions.fragments.StudentProfileFragment;
+import com.example.hometutions.services.TeacherSummaryBackfillJob;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
@@ -39,6 +40,7 @@ public class StudentHomeActivity extends AppCompatActivity {
         
         initializeViews();
         setupBottomNavigation();
+        new TeacherSummaryBackfillJob(this).runIfAdmin(currentUser);
         
         // Load default fragment (Dashboard)
         loadFragment(new StudentDashboard());
@@ -24,13 +24,17 @@ import com.example.hometutions.models.Student;
 import com.example.hometutions.services.FirebaseAuthService;
 import com.example.hometutions.services.FirebaseDatabaseService;
 import com.example.hometutions.services.FirebaseStorageService;
+import com.example.hometutions.services.ProfileRepository;
 import com.example.hometutions.utils.AnimationUtils;
+import com.example.hometutions.utils.ImagePreprocessor;
+import com.example.hometutions.utils.LocationUtils;
 import com.google.firebase.auth.FirebaseUser;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import android.util.Log;
 import android.os.Handler;
 import android.os.Looper;
@@ -57,10 +61,13 @@ public class StudentRegistration extends AppCompatActivity implements FirebaseAu
     
     // Services
     private FirebaseAuthService authService;
-    private FirebaseDatabaseService databaseService;
+    private ProfileRepository profileRepository;
+    private FirebaseStorageService storageService;
+    private ImagePreprocessor imagePreprocessor;
     
     // Data
     private Uri profilePhotoUri;
+    private CompletableFuture<double[]> addressCoordinates = CompletableFuture.completedFuture(null); // geocoded during sign-up
     private String selectedGender, selectedClass, selectedBoard, selectedTeacherGender, selectedTimeSlot;
     
     // Activity result launcher for image picker
@@ -228,7 +235,9 @@ public class StudentRegistration extends AppCompatActivity implements FirebaseAu
     
     private void initializeFirebase() {
         authService = new FirebaseAuthService(this, this);
-        databaseService = new FirebaseDatabaseService();
+        profileRepository = ProfileRepository.getInstance();
+        storageService = new FirebaseStorageService();
+        imagePreprocessor = new ImagePreprocessor(getContentResolver());
     }
     
     private void openImagePicker() {
@@ -237,7 +246,11 @@ public class StudentRegistration extends AppCompatActivity implements FirebaseAu
     }
     
     private void setProfilePhoto(Uri uri) {
+        imagePreprocessor.forget(profilePhotoUri);
         profilePhotoUri = uri;
+        // Compress right away so submitting only waits on the network
+        imagePreprocessor.prefetch(ImagePreprocessor.ImageJob.profilePhoto(uri));
+        imagePreprocessor.prefetch(ImagePreprocessor.ImageJob.thumbnail(uri));
         profilePhotoImage.setImageURI(uri);
         profilePhotoImage.setVisibility(View.VISIBLE);
         profilePhotoPlaceholder.setVisibility(View.GONE);
@@ -308,6 +321,18 @@ public class StudentRegistration extends AppCompatActivity implements FirebaseAu
         String phone = phoneEditText.getText().toString().trim();
         String address = addressEditText.getText().toString().trim();
         
+        // Geocode the address while the account is being created
+        addressCoordinates = LocationUtils.geocodeAddressAsync(this, address, LocationUtils.GEOCODE_TIMEOUT_MS);
+        
+        // An earlier attempt that was cancelled may have created the account
+        // already; finish its profile instead of signing up again
+        FirebaseUser existing = authService.getCurrentUser();
+        if (existing != null && email.equalsIgnoreCase(existing.getEmail())) {
+            Log.d("StudentRegistration", "Resuming profile creation for " + existing.getUid());
+            createStudentProfile(existing);
+            return;
+        }
+        
         // Create user account
         authService.createUserWithEmailAndPassword(email, password);
     }
@@ -321,48 +346,78 @@ public class StudentRegistration extends AppCompatActivity implements FirebaseAu
             return;
         }
         
-        // Convert profile image to Base64 if selected
-        String profileImageBase64 = null;
-        if (profilePhotoUri != null) {
-            try {
-                profileImageBase64 = convertImageToBase64(profilePhotoUri);
-                Log.d("StudentRegistration", "Profile image converted to Base64 successfully, length: " + profileImageBase64.length());
-                Log.d("StudentRegistration", "Base64 preview: " + profileImageBase64.substring(0, Math.min(100, profileImageBase64.length())));
-            } catch (Exception e) {
-                Log.e("StudentRegistration", "Failed to convert profile image to Base64: " + e.getMessage());
-                Toast.makeText(this, "Failed to process profile image", Toast.LENGTH_SHORT).show();
-            }
-        } else {
+        if (profilePhotoUri == null) {
             Log.d("StudentRegistration", "No profile photo selected");
+            createStudentProfileInDatabase(user, null, null);
+            return;
         }
         
-        // Create student profile with Base64 image
-        createStudentProfileInDatabase(user, profileImageBase64);
+        // The photo was compressed when picked; wait for it if still running.
+        // The database only keeps the URLs
+        String uid = user.getUid();
+        Map<String, ImagePreprocessor.ImageJob> jobs = new HashMap<>();
+        jobs.put(FirebaseStorageService.profilePhotoPath(uid), ImagePreprocessor.ImageJob.profilePhoto(profilePhotoUri));
+        jobs.put(FirebaseStorageService.profileThumbnailPath(uid), ImagePreprocessor.ImageJob.thumbnail(profilePhotoUri));
+        imagePreprocessor.process(jobs, new ImagePreprocessor.Listener() {
+            @Override
+            public void onImageStarted(String key) {
+            }
+            
+            @Override
+            public void onImageDone(String key, int sizeBytes) {
+            }
+            
+            @Override
+            public void onComplete(Map<String, byte[]> images) {
+                uploadProfilePhotoAndSave(user, uid, images);
+            }
+            
+            @Override
+            public void onFailure(String key, String error) {
+                Log.e("StudentRegistration", "Failed to process profile image: " + error);
+                Toast.makeText(StudentRegistration.this, "Failed to process profile image", Toast.LENGTH_SHORT).show();
+                createStudentProfileInDatabase(user, null, null);
+            }
+        });
     }
     
-    private String convertImageToBase64(Uri imageUri) throws Exception {
-        // Convert image to Base64 string
-        java.io.InputStream inputStream = getContentResolver().openInputStream(imageUri);
-        if (inputStream == null) {
-            throw new Exception("Could not open image stream");
-        }
-        
-        byte[] bytes = new byte[inputStream.available()];
-        inputStream.read(bytes);
-        inputStream.close();
-        
-        return android.util.Base64.encodeToString(bytes, android.util.Base64.DEFAULT);
+    private void uploadProfilePhotoAndSave(FirebaseUser user, String uid, Map<String, byte[]> images) {
+        storageService.uploadImages(images, new FirebaseStorageService.ImageSetCallback() {
+            @Override
+            public void onSuccess(Map<String, String> downloadUrls) {
+                createStudentProfileInDatabase(user, downloadUrls.get(FirebaseStorageService.profilePhotoPath(uid)),
+                        downloadUrls.get(FirebaseStorageService.profileThumbnailPath(uid)));
+            }
+            
+            @Override
+            public void onFailure(String error) {
+                Log.e("StudentRegistration", "Failed to upload profile image: " + error);
+                Toast.makeText(StudentRegistration.this, "Failed to upload profile image", Toast.LENGTH_SHORT).show();
+                createStudentProfileInDatabase(user, null, null);
+            }
+        });
     }
     
-    private void createStudentProfileInDatabase(FirebaseUser user, String profileImageBase64) {
+    private void createStudentProfileInDatabase(FirebaseUser user, String profilePhotoUrl, String profileThumbnailUrl) {
+        // Geocoding started with sign-up and is usually done; it gives up after GEOCODE_TIMEOUT_MS
+        addressCoordinates.thenAccept(coordinates -> runOnUiThread(() ->
+                saveStudentProfile(user, profilePhotoUrl, profileThumbnailUrl, coordinates)));
+    }
+    
+    private void saveStudentProfile(FirebaseUser user, String profilePhotoUrl, String profileThumbnailUrl,
+                                    double[] coordinates) {
         Student student = new Student();
         student.setUserId(user.getUid());
         student.setEmail(user.getEmail());
         student.setFullName(fullNameEditText.getText().toString().trim());
         student.setPhoneNumber(phoneEditText.getText().toString().trim());
         student.setAddress(addressEditText.getText().toString().trim());
-        student.setProfilePhotoUrl(profileImageBase64); // Set profile image as Base64
-        Log.d("StudentRegistration", "Setting profilePhotoUrl: " + (profileImageBase64 != null ? "Base64 data length: " + profileImageBase64.length() : "null"));
+        if (coordinates != null) {
+            student.setLatitude(coordinates[0]);
+            student.setLongitude(coordinates[1]);
+        }
+        student.setProfilePhotoUrl(profilePhotoUrl);
+        student.setProfileThumbnailUrl(profileThumbnailUrl);
         
         // Set additional fields
         try {
@@ -402,7 +457,7 @@ public class StudentRegistration extends AppCompatActivity implements FirebaseAu
         student.setAdditionalRequirements(additionalRequirementsEditText.getText().toString().trim());
         
         // Save to database
-        databaseService.createStudent(student, new FirebaseDatabaseService.DatabaseCallback<Void>() {
+        profileRepository.createStudent(student, new FirebaseDatabaseService.DatabaseCallback<Void>() {
             @Override
             public void onSuccess(Void result) {
                 Toast.makeText(StudentRegistration.this, "Registration successful!", Toast.LENGTH_LONG).show();
@@ -484,5 +539,8 @@ public class StudentRegistration extends AppCompatActivity implements FirebaseAu
         StudentLogin.setRegistrationMode(false);
         
         // Clean up any resources
+        if (imagePreprocessor != null) {
+            imagePreprocessor.shutdown();
+        }
     }
 }
\ No newline at end of file
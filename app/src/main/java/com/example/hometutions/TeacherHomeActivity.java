@@ -2,6 +2,7 @@ package com.example.hometutions;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
@@ -11,12 +12,19 @@ import androidx.fragment.app.FragmentTransaction;
 
 import com.example.hometutions.fragments.TeacherDashboardFragment;
 import com.example.hometutions.fragments.TeacherProfileFragment;
+import com.example.hometutions.models.Teacher;
+import com.example.hometutions.services.CoordinateBackfillJob;
+import com.example.hometutions.services.FirebaseDatabaseService;
+import com.example.hometutions.services.ProfileRepository;
+import com.example.hometutions.services.TeacherSummaryBackfillJob;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
 public class TeacherHomeActivity extends AppCompatActivity {
 
+	private static final String TAG = "TeacherHomeActivity";
+
 	private FirebaseAuth mAuth;
 	private FirebaseUser currentUser;
 	private BottomNavigationView bottomNavigationView;
@@ -36,6 +44,7 @@ public class TeacherHomeActivity extends AppCompatActivity {
 
 		bottomNavigationView = findViewById(R.id.bottom_navigation_teacher);
 		setupBottomNavigation();
+		backfillOwnRecord();
 
 		boolean openProfile = getIntent().getBooleanExtra("open_profile", false);
 		String teacherId = getIntent().getStringExtra("teacher_id");
@@ -53,6 +62,36 @@ public class TeacherHomeActivity extends AppCompatActivity {
 		}
 	}
 
+	/**
+	 * Fill in what older app versions did not store on the signed-in teacher's
+	 * record; the rules only let teachers write their own
+	 */
+	private void backfillOwnRecord() {
+		final String uid = currentUser.getUid();
+		new TeacherSummaryBackfillJob(this).runIfAdmin(currentUser);
+		new FirebaseDatabaseService().backfillTeacherEntries(uid, new FirebaseDatabaseService.DatabaseCallback<Void>() {
+			@Override
+			public void onSuccess(Void result) {
+			}
+
+			@Override
+			public void onFailure(String error) {
+				Log.w(TAG, "Could not backfill teacher entries: " + error);
+			}
+		});
+		ProfileRepository.getInstance().getTeacher(uid, new FirebaseDatabaseService.DatabaseCallback<Teacher>() {
+			@Override
+			public void onSuccess(Teacher teacher) {
+				new CoordinateBackfillJob(TeacherHomeActivity.this).backfillTeacher(uid, teacher);
+			}
+
+			@Override
+			public void onFailure(String error) {
+				Log.w(TAG, "Could not load own teacher record: " + error);
+			}
+		});
+	}
+
 	private void setupBottomNavigation() {
 		bottomNavigationView.setOnNavigationItemSelectedListener(item -> {
 			Fragment selectedFragment = null;
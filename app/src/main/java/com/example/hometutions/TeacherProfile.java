@@ -20,6 +20,9 @@ import androidx.core.view.WindowInsetsCompat;
 import com.example.hometutions.models.Teacher;
 import com.example.hometutions.services.FirebaseAuthService;
 import com.example.hometutions.services.FirebaseDatabaseService;
+import com.example.hometutions.services.ImageDecodeService;
+import com.example.hometutions.services.ImageMigrationJob;
+import com.example.hometutions.services.ProfileRepository;
 import com.example.hometutions.utils.AnimationUtils;
 import com.bumptech.glide.Glide;
 import com.google.firebase.auth.FirebaseUser;
@@ -57,7 +60,7 @@ public class TeacherProfile extends AppCompatActivity implements FirebaseAuthSer
     
     // Services
     private FirebaseAuthService authService;
-    private FirebaseDatabaseService databaseService;
+    private ProfileRepository profileRepository;
     
     // Data
     private Teacher currentTeacher;
@@ -91,7 +94,7 @@ public class TeacherProfile extends AppCompatActivity implements FirebaseAuthSer
     
     private void initializeServices() {
         authService = new FirebaseAuthService(this, this);
-        databaseService = new FirebaseDatabaseService();
+        profileRepository = ProfileRepository.getInstance();
     }
     
     private void initializeViews() {
@@ -186,10 +189,14 @@ public class TeacherProfile extends AppCompatActivity implements FirebaseAuthSer
         }
         
         // Load teacher data from Firebase
-        databaseService.getTeacher(teacherId, new FirebaseDatabaseService.DatabaseCallback<Teacher>() {
+        profileRepository.getTeacher(teacherId, new FirebaseDatabaseService.DatabaseCallback<Teacher>() {
             @Override
             public void onSuccess(Teacher teacher) {
                 currentTeacher = teacher;
+                FirebaseUser currentUser = authService.getCurrentUser();
+                if (currentUser != null && currentUser.getUid().equals(teacherId)) {
+                    new ImageMigrationJob(TeacherProfile.this).migrateTeacher(teacherId, teacher);
+                }
                 runOnUiThread(() -> {
                     if (!isFinishing() && !isDestroyed()) {
                         showLoading(false);
@@ -295,7 +302,7 @@ public class TeacherProfile extends AppCompatActivity implements FirebaseAuthSer
         // Load profile image if available
         if (teacher.getProfileImageUrl() != null && !teacher.getProfileImageUrl().isEmpty()) {
             Log.d(TAG, "Loading profile image from: " + teacher.getProfileImageUrl());
-            displayProfileImage(teacher.getProfileImageUrl());
+            displayProfileImage(teacher.getProfileImageUrl(), teacher.getProfileBlurHash());
         } else {
             Log.d(TAG, "No profile image URL available, using placeholder");
             profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder);
@@ -514,44 +521,9 @@ public class TeacherProfile extends AppCompatActivity implements FirebaseAuthSer
         }
     }
     
-    private void displayProfileImage(String profileImageData) {
-        try {
-            // Check if it's a Base64 string (starts with data:image or is a long Base64 string)
-            if (profileImageData.startsWith("data:image") || profileImageData.length() > 100) {
-                // Handle Base64 image data
-                if (profileImageData.startsWith("data:image")) {
-                    // Extract Base64 part from data URL
-                    String base64Data = profileImageData.substring(profileImageData.indexOf(",") + 1);
-                    byte[] imageBytes = android.util.Base64.decode(base64Data, android.util.Base64.DEFAULT);
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                    profilePhoto.setImageBitmap(bitmap);
-                } else {
-                    // Direct Base64 string
-                    byte[] imageBytes = android.util.Base64.decode(profileImageData, android.util.Base64.DEFAULT);
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                    profilePhoto.setImageBitmap(bitmap);
-                }
-                Log.d(TAG, "Profile image displayed successfully from Base64 data");
-            } else {
-                // Regular URL, try to load with Glide
-                if (!isFinishing() && !isDestroyed()) {
-                    Glide.with(this)
-                        .load(profileImageData)
-                        .placeholder(R.drawable.ic_teacher_placeholder)
-                        .error(R.drawable.ic_teacher_placeholder)
-                        .timeout(10000)
-                        .circleCrop()
-                        .into(profilePhoto);
-                    Log.d(TAG, "Profile image loading started from URL");
-                } else {
-                    profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder);
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to decode profile image: " + e.getMessage());
-            // Set default teacher icon on error
-            profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder);
-        }
+    private void displayProfileImage(String profileImageData, String blurHash) {
+        if (isFinishing() || isDestroyed()) return;
+        ImageDecodeService.getInstance().load(profilePhoto, profileImageData, blurHash, R.drawable.ic_teacher_placeholder);
     }
     
     private void loadSampleProfileImage() {
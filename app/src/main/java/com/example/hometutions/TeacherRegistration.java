@@ -24,13 +24,18 @@ import com.example.hometutions.models.Teacher;
 import com.example.hometutions.services.FirebaseAuthService;
 import com.example.hometutions.services.FirebaseDatabaseService;
 import com.example.hometutions.services.FirebaseStorageService;
+import com.example.hometutions.services.ProfileRepository;
 import com.example.hometutions.utils.AnimationUtils;
+import com.example.hometutions.utils.ImageCompressor;
+import com.example.hometutions.utils.ImagePreprocessor;
+import com.example.hometutions.utils.LocationUtils;
 import com.google.firebase.auth.FirebaseUser;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import android.util.Log;
 import android.os.Handler;
 import android.os.Looper;
@@ -59,11 +64,13 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
     
     // Services
     private FirebaseAuthService authService;
-    private FirebaseDatabaseService databaseService;
+    private ProfileRepository profileRepository;
     private FirebaseStorageService storageService;
+    private ImagePreprocessor imagePreprocessor;
     
     // Data
     private Uri profilePhotoUri;
+    private CompletableFuture<double[]> addressCoordinates = CompletableFuture.completedFuture(null); // geocoded during sign-up
     private Uri aadharCardUri, panCardUri, degreeCertificateUri;
     private String currentDocumentType = "";
 
@@ -241,8 +248,9 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
     
     private void initializeFirebase() {
         authService = new FirebaseAuthService(this, this);
-        databaseService = new FirebaseDatabaseService();
+        profileRepository = ProfileRepository.getInstance();
         storageService = new FirebaseStorageService();
+        imagePreprocessor = new ImagePreprocessor(getContentResolver());
     }
     
     private void openImagePicker() {
@@ -251,7 +259,11 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
     }
     
     private void setProfilePhoto(Uri uri) {
+        imagePreprocessor.forget(profilePhotoUri);
         profilePhotoUri = uri;
+        // Compress right away so submitting only waits on the network
+        imagePreprocessor.prefetch(ImagePreprocessor.ImageJob.profilePhoto(uri));
+        imagePreprocessor.prefetch(ImagePreprocessor.ImageJob.thumbnail(uri));
         profilePhotoImage.setImageURI(uri);
         profilePhotoImage.setVisibility(View.VISIBLE);
         profilePhotoPlaceholder.setVisibility(View.GONE);
@@ -296,19 +308,23 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
             case "aadhar":
                 aadharStatus.setText("Uploading...");
                 aadharStatus.setTextColor(getResources().getColor(android.R.color.holo_blue_dark));
+                imagePreprocessor.forget(aadharCardUri);
                 aadharCardUri = documentUri;
                 break;
             case "pan":
                 panStatus.setText("Uploading...");
                 panStatus.setTextColor(getResources().getColor(android.R.color.holo_blue_dark));
+                imagePreprocessor.forget(panCardUri);
                 panCardUri = documentUri;
                 break;
             case "degree":
                 degreeStatus.setText("Uploading...");
                 degreeStatus.setTextColor(getResources().getColor(android.R.color.holo_blue_dark));
+                imagePreprocessor.forget(degreeCertificateUri);
                 degreeCertificateUri = documentUri;
                 break;
         }
+        imagePreprocessor.prefetch(ImagePreprocessor.ImageJob.document(documentUri));
         
         // Upload document to Firebase Storage
         uploadDocumentToStorage(documentUri, currentDocumentType);
@@ -472,6 +488,18 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
         String phone = phoneEditText.getText().toString().trim();
         String address = addressEditText.getText().toString().trim();
         
+        // Geocode the address while the account is being created
+        addressCoordinates = LocationUtils.geocodeAddressAsync(this, address, LocationUtils.GEOCODE_TIMEOUT_MS);
+        
+        // An earlier attempt that was cancelled may have created the account
+        // already; finish its profile instead of signing up again
+        FirebaseUser existing = authService.getCurrentUser();
+        if (existing != null && email.equalsIgnoreCase(existing.getEmail())) {
+            Log.d("TeacherRegistration", "Resuming profile creation for " + existing.getUid());
+            createTeacherProfile(existing);
+            return;
+        }
+        
         // Create user account
         authService.createUserWithEmailAndPassword(email, password);
     }
@@ -491,25 +519,7 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
             return;
         }
         
-        // Convert profile image to Base64 if selected
-        String profileImageBase64 = null;
-        if (profilePhotoUri != null) {
-            try {
-                profileImageBase64 = convertImageToBase64(profilePhotoUri);
-                Log.d("TeacherRegistration", "Profile image converted to Base64 successfully, length: " + profileImageBase64.length());
-                Log.d("TeacherRegistration", "Base64 preview: " + profileImageBase64.substring(0, Math.min(100, profileImageBase64.length())));
-            } catch (Exception e) {
-                Log.e("TeacherRegistration", "Failed to convert profile image to Base64: " + e.getMessage());
-                Toast.makeText(this, "Failed to process profile image", Toast.LENGTH_SHORT).show();
-                continueButton.setEnabled(true);
-                return;
-            }
-        } else {
-            Log.d("TeacherRegistration", "No profile photo selected");
-        }
-        
-        // Create teacher profile with Base64 image
-        createTeacherProfileInDatabase(user, profileImageBase64);
+        createTeacherProfileInDatabase(user);
     }
     
     private boolean validateRequiredData() {
@@ -558,72 +568,22 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
         return true;
     }
     
-    private String convertImageToBase64(Uri imageUri) throws Exception {
-        // Optimized image conversion with compression
-        try {
-            // First, decode the image to get dimensions
-            android.graphics.BitmapFactory.Options options = new android.graphics.BitmapFactory.Options();
-            options.inJustDecodeBounds = true;
-            
-            java.io.InputStream inputStream = getContentResolver().openInputStream(imageUri);
-            if (inputStream == null) {
-                throw new Exception("Could not open image stream");
-            }
-            
-            android.graphics.BitmapFactory.decodeStream(inputStream, null, options);
-            inputStream.close();
-            
-            // Calculate sample size to reduce memory usage
-            int maxSize = 1024; // Max dimension
-            int sampleSize = 1;
-            if (options.outHeight > maxSize || options.outWidth > maxSize) {
-                sampleSize = Math.min(options.outWidth / maxSize, options.outHeight / maxSize);
-                sampleSize = Math.max(1, sampleSize);
-            }
-            
-            // Decode with sample size
-            options.inJustDecodeBounds = false;
-            options.inSampleSize = sampleSize;
-            options.inPreferredConfig = android.graphics.Bitmap.Config.RGB_565; // Use less memory
-            
-            inputStream = getContentResolver().openInputStream(imageUri);
-            android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeStream(inputStream, null, options);
-            inputStream.close();
-            
-            if (bitmap == null) {
-                throw new Exception("Failed to decode image");
-            }
-            
-            // Compress the bitmap
-            java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
-            bitmap.compress(android.graphics.Bitmap.CompressFormat.JPEG, 70, outputStream); // 70% quality
-            
-            // Convert to Base64
-            byte[] bytes = outputStream.toByteArray();
-            String base64 = android.util.Base64.encodeToString(bytes, android.util.Base64.DEFAULT);
-            
-            // Clean up
-            bitmap.recycle();
-            outputStream.close();
-            
-            Log.d("TeacherRegistration", "Image converted successfully: " + bytes.length + " bytes -> " + base64.length() + " Base64 chars");
-            return base64;
-            
-        } catch (Exception e) {
-            Log.e("TeacherRegistration", "Error converting image to Base64: " + e.getMessage());
-            throw e;
-        }
+    private void createTeacherProfileInDatabase(FirebaseUser user) {
+        // Geocoding started with sign-up and is usually done; it gives up after GEOCODE_TIMEOUT_MS
+        addressCoordinates.thenAccept(coordinates -> runOnUiThread(() -> saveTeacherProfile(user, coordinates)));
     }
     
-    private void createTeacherProfileInDatabase(FirebaseUser user, String profileImageBase64) {
+    private void saveTeacherProfile(FirebaseUser user, double[] coordinates) {
         Teacher teacher = new Teacher();
         teacher.setUserId(user.getUid());
         teacher.setEmail(user.getEmail());
         teacher.setFullName(fullNameEditText.getText().toString().trim());
         teacher.setPhoneNumber(phoneEditText.getText().toString().trim());
         teacher.setAddress(addressEditText.getText().toString().trim());
-        teacher.setProfileImageUrl(profileImageBase64); // Set profile image as Base64
-        Log.d("TeacherRegistration", "Setting profileImageUrl: " + (profileImageBase64 != null ? "Base64 data length: " + profileImageBase64.length() : "null"));
+        if (coordinates != null) {
+            teacher.setLatitude(coordinates[0]);
+            teacher.setLongitude(coordinates[1]);
+        }
         
         // Set additional fields
         try {
@@ -649,57 +609,124 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
         List<String> streams = getSelectedStreams();
         teacher.setTeachingStreams(streams);
         
-        // Show progress dialog
+        // Show progress dialog; backing out cancels the image work
         android.app.ProgressDialog progressDialog = new android.app.ProgressDialog(this);
-        progressDialog.setMessage("Processing images and saving data...");
-        progressDialog.setCancelable(false);
+        progressDialog.setMessage("Processing images...");
+        progressDialog.setCancelable(true);
+        progressDialog.setCanceledOnTouchOutside(false);
+        progressDialog.setOnCancelListener(dialog -> {
+            imagePreprocessor.cancel();
+            continueButton.setEnabled(true);
+        });
         progressDialog.show();
         
-        // Convert and set document images as Base64
-        String aadharBase64 = null;
-        String panBase64 = null;
-        String degreeBase64 = null;
+        // Images were compressed when picked; wait for any still running, keyed by their Storage path.
+        // The database only keeps the URLs
+        String uid = user.getUid();
+        Map<String, ImagePreprocessor.ImageJob> jobs = new HashMap<>();
+        Map<String, TextView> statusViews = new HashMap<>();
+        if (profilePhotoUri != null) {
+            jobs.put(FirebaseStorageService.profilePhotoPath(uid), ImagePreprocessor.ImageJob.profilePhoto(profilePhotoUri));
+            jobs.put(FirebaseStorageService.profileThumbnailPath(uid), ImagePreprocessor.ImageJob.thumbnail(profilePhotoUri));
+        } else {
+            Log.d("TeacherRegistration", "No profile photo selected");
+        }
+        addDocumentJob(jobs, statusViews, uid, "aadhar", aadharCardUri, aadharStatus);
+        addDocumentJob(jobs, statusViews, uid, "pan", panCardUri, panStatus);
+        addDocumentJob(jobs, statusViews, uid, "degree", degreeCertificateUri, degreeStatus);
         
-        try {
-            if (aadharCardUri != null) {
-                progressDialog.setMessage("Processing Aadhar card...");
-                aadharBase64 = convertImageToBase64(aadharCardUri);
-                Log.d("TeacherRegistration", "Aadhar card converted to Base64 successfully, length: " + aadharBase64.length());
+        final int total = jobs.size();
+        final int[] done = {0};
+        imagePreprocessor.process(jobs, new ImagePreprocessor.Listener() {
+            @Override
+            public void onImageStarted(String key) {
+                TextView status = statusViews.get(key);
+                if (status != null) {
+                    status.setText("Processing...");
+                    status.setTextColor(getResources().getColor(android.R.color.holo_blue_dark));
+                }
             }
             
-            if (panCardUri != null) {
-                progressDialog.setMessage("Processing PAN card...");
-                panBase64 = convertImageToBase64(panCardUri);
-                Log.d("TeacherRegistration", "PAN card converted to Base64 successfully, length: " + panBase64.length());
+            @Override
+            public void onImageDone(String key, int sizeBytes) {
+                done[0]++;
+                progressDialog.setMessage("Processing images (" + done[0] + "/" + total + ")...");
+                TextView status = statusViews.get(key);
+                if (status != null) {
+                    status.setText("Ready ✓ (" + sizeBytes / 1024 + " KB)");
+                    status.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
+                }
             }
             
-            if (degreeCertificateUri != null) {
-                progressDialog.setMessage("Processing degree certificate...");
-                degreeBase64 = convertImageToBase64(degreeCertificateUri);
-                Log.d("TeacherRegistration", "Degree certificate converted to Base64 successfully, length: " + degreeBase64.length());
+            @Override
+            public void onComplete(Map<String, byte[]> images) {
+                uploadImagesAndSave(teacher, uid, images, progressDialog);
             }
             
-            progressDialog.setMessage("Saving to database...");
-            
-        } catch (Exception e) {
-            progressDialog.dismiss();
-            Log.e("TeacherRegistration", "Failed to process images: " + e.getMessage());
-            Toast.makeText(this, "Failed to process images: " + e.getMessage(), Toast.LENGTH_LONG).show();
-            continueButton.setEnabled(true);
-            return;
+            @Override
+            public void onFailure(String key, String error) {
+                progressDialog.dismiss();
+                TextView status = statusViews.get(key);
+                if (status != null) {
+                    status.setText("Could not process, please pick again");
+                    status.setTextColor(getResources().getColor(android.R.color.holo_red_dark));
+                }
+                Toast.makeText(TeacherRegistration.this, "Failed to process images: " + error, Toast.LENGTH_LONG).show();
+                continueButton.setEnabled(true);
+            }
+        });
+    }
+    
+    private void addDocumentJob(Map<String, ImagePreprocessor.ImageJob> jobs, Map<String, TextView> statusViews,
+                                String uid, String documentType, Uri uri, TextView status) {
+        String path = FirebaseStorageService.documentImagePath(uid, documentType);
+        jobs.put(path, ImagePreprocessor.ImageJob.document(uri));
+        statusViews.put(path, status);
+    }
+    
+    private void uploadImagesAndSave(Teacher teacher, String uid, Map<String, byte[]> images,
+                                     android.app.ProgressDialog progressDialog) {
+        byte[] thumbnail = images.get(FirebaseStorageService.profileThumbnailPath(uid));
+        if (thumbnail != null) {
+            // Tiny preview shown by cards until the thumbnail is downloaded
+            try {
+                teacher.setProfileBlurHash(ImageCompressor.blurHash(thumbnail));
+            } catch (Exception e) {
+                Log.e("TeacherRegistration", "Failed to compute profile preview: " + e.getMessage());
+            }
         }
         
-        // Set document images as Base64 in the Teacher model
-        teacher.setAadharCardUrl(aadharBase64);
-        teacher.setPanCardUrl(panBase64);
-        teacher.setDegreeCertificateUrl(degreeBase64);
-        
-        // Save to database
-        databaseService.createTeacher(teacher, new FirebaseDatabaseService.DatabaseCallback<Void>() {
+        progressDialog.setMessage("Uploading images...");
+        storageService.uploadImages(images, new FirebaseStorageService.ImageSetCallback() {
+            @Override
+            public void onSuccess(Map<String, String> downloadUrls) {
+                if (!progressDialog.isShowing()) return; // the user backed out meanwhile
+                teacher.setProfileImageUrl(downloadUrls.get(FirebaseStorageService.profilePhotoPath(uid)));
+                teacher.setProfileThumbnailUrl(downloadUrls.get(FirebaseStorageService.profileThumbnailPath(uid)));
+                teacher.setAadharCardUrl(downloadUrls.get(FirebaseStorageService.documentImagePath(uid, "aadhar")));
+                teacher.setPanCardUrl(downloadUrls.get(FirebaseStorageService.documentImagePath(uid, "pan")));
+                teacher.setDegreeCertificateUrl(downloadUrls.get(FirebaseStorageService.documentImagePath(uid, "degree")));
+                
+                progressDialog.setMessage("Saving to database...");
+                saveTeacher(teacher, progressDialog);
+            }
+            
+            @Override
+            public void onFailure(String error) {
+                progressDialog.dismiss();
+                Log.e("TeacherRegistration", "Failed to upload images: " + error);
+                Toast.makeText(TeacherRegistration.this, "Failed to upload images: " + error, Toast.LENGTH_LONG).show();
+                continueButton.setEnabled(true);
+            }
+        });
+    }
+    
+    private void saveTeacher(Teacher teacher, android.app.ProgressDialog progressDialog) {
+        profileRepository.createTeacher(teacher, new FirebaseDatabaseService.DatabaseCallback<Void>() {
             @Override
             public void onSuccess(Void result) {
                 progressDialog.dismiss();
-                Toast.makeText(TeacherRegistration.this, "Registration successful! All images stored in database.", Toast.LENGTH_LONG).show();
+                Toast.makeText(TeacherRegistration.this, "Registration successful!", Toast.LENGTH_LONG).show();
                 
                 // Navigate to success screen or dashboard
                 finish();
@@ -771,5 +798,8 @@ public class TeacherRegistration extends AppCompatActivity implements FirebaseAu
         TeachersLogin.setRegistrationMode(false);
         
         // Clean up any resources
+        if (imagePreprocessor != null) {
+            imagePreprocessor.shutdown();
+        }
     }
 }
\ No newline at end of file
@@ -10,9 +10,11 @@ import android.widget.Toast;
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.bumptech.glide.Glide;
 import com.example.hometutions.models.Teacher;
 import com.example.hometutions.services.FirebaseDatabaseService;
+import com.example.hometutions.services.ImageDecodeService;
+import com.example.hometutions.services.ProfileRepository;
+import com.example.hometutions.services.TeacherMapper;
 import com.google.android.flexbox.FlexboxLayout;
 
 import java.util.List;
@@ -30,7 +32,7 @@ public class ViewProfileOfTeacher extends AppCompatActivity {
     private LinearLayout mainContent;
     private LinearLayout phoneContactLayout, emailContactLayout, whatsappContactLayout;
 
-    private FirebaseDatabaseService databaseService;
+    private ProfileRepository profileRepository;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -38,7 +40,7 @@ public class ViewProfileOfTeacher extends AppCompatActivity {
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_view_profile_of_teacher);
 
-        databaseService = new FirebaseDatabaseService();
+        profileRepository = ProfileRepository.getInstance();
         initViews();
 
         String teacherId = getIntent().getStringExtra("teacher_id");
@@ -80,7 +82,7 @@ public class ViewProfileOfTeacher extends AppCompatActivity {
     }
 
     private void loadTeacher(String id) {
-        databaseService.getTeacher(id, new FirebaseDatabaseService.DatabaseCallback<Teacher>() {
+        profileRepository.getTeacher(id, new FirebaseDatabaseService.DatabaseCallback<Teacher>() {
             @Override public void onSuccess(Teacher teacher) { updateUI(teacher); }
             @Override public void onFailure(String error) {
                 Log.w(TAG, "Direct get failed: " + error + ", trying userId lookup");
@@ -90,7 +92,7 @@ public class ViewProfileOfTeacher extends AppCompatActivity {
                             @Override public void onDataChange(com.google.firebase.database.DataSnapshot snapshot) {
                                 if (snapshot.exists()) {
                                     for (com.google.firebase.database.DataSnapshot child : snapshot.getChildren()) {
-                                        updateUI(child.getValue(Teacher.class));
+                                        updateUI(TeacherMapper.fromSnapshot(child));
                                         return;
                                     }
                                 } else {
@@ -168,7 +170,7 @@ public class ViewProfileOfTeacher extends AppCompatActivity {
         renderChips(streamsContainer, teacher.getTeachingStreams(), R.drawable.stream_chip_background, getResources().getColor(R.color.white));
 
         String url = teacher.getProfileImageUrl();
-        if (url != null && !url.isEmpty()) { displayProfileImage(url); } else { profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder); }
+        if (url != null && !url.isEmpty()) { displayProfileImage(url, teacher.getProfileBlurHash()); } else { profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder); }
     }
 
     private void renderChips(FlexboxLayout container, List<String> items, int bgRes, int textColor) {
@@ -190,17 +192,8 @@ public class ViewProfileOfTeacher extends AppCompatActivity {
         container.addView(chip);
     }
 
-    private void displayProfileImage(String data) {
-        try {
-            if (data.startsWith("data:image") || data.length() > 100) {
-                String base64 = data.startsWith("data:image") ? data.substring(data.indexOf(',') + 1) : data;
-                byte[] bytes = android.util.Base64.decode(base64, android.util.Base64.DEFAULT);
-                android.graphics.Bitmap bmp = android.graphics.BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
-                profilePhoto.setImageBitmap(bmp);
-            } else {
-                Glide.with(this).load(data).placeholder(R.drawable.ic_teacher_placeholder).error(R.drawable.ic_teacher_placeholder).circleCrop().into(profilePhoto);
-            }
-        } catch (Exception e) { profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder); }
+    private void displayProfileImage(String data, String blurHash) {
+        ImageDecodeService.getInstance().load(profilePhoto, data, blurHash, R.drawable.ic_teacher_placeholder);
     }
 
     private String nn(String v, String def) { return v != null && !v.isEmpty() ? v : def; }
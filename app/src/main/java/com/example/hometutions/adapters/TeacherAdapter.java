@@ -9,20 +9,25 @@ import android.widget.ImageView;
 import android.widget.RatingBar;
 import android.widget.LinearLayout;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
-
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.hometutions.R;
 import com.example.hometutions.models.Teacher;
+import com.example.hometutions.services.ImageDecodeService;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherViewHolder> {
 
-    private List<Teacher> teachers;
+    // Diffs run on a background thread; the adapter only ever sees immutable snapshots
+    private final AsyncListDiffer<Teacher> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private OnTeacherClickListener listener;
 
     public interface OnTeacherClickListener {
@@ -30,8 +35,8 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherV
     }
 
     public TeacherAdapter(List<Teacher> teachers, OnTeacherClickListener listener) {
-        this.teachers = teachers;
         this.listener = listener;
+        updateTeachers(teachers);
     }
 
     @NonNull
@@ -44,19 +49,74 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherV
 
     @Override
     public void onBindViewHolder(@NonNull TeacherViewHolder holder, int position) {
-        Teacher teacher = teachers.get(position);
+        Teacher teacher = getTeacher(position);
         holder.bind(teacher);
         Log.d("TeacherAdapter", "Binding teacher at position " + position + ": " + teacher.getFullName());
     }
 
     @Override
     public int getItemCount() {
-        return teachers != null ? teachers.size() : 0;
+        return differ.getCurrentList().size();
+    }
+
+    public Teacher getTeacher(int position) {
+        return differ.getCurrentList().get(position);
+    }
+
+    public List<Teacher> getCurrentTeachers() {
+        return differ.getCurrentList();
     }
 
     public void updateTeachers(List<Teacher> newTeachers) {
-        this.teachers = newTeachers;
-        notifyDataSetChanged();
+        updateTeachers(newTeachers, null);
+    }
+
+    /**
+     * Submit a new snapshot. The diff against the current list is computed off
+     * the main thread and dispatched as fine-grained item notifications;
+     * commitCallback runs once the snapshot is displayed.
+     */
+    public void updateTeachers(List<Teacher> newTeachers, @Nullable Runnable commitCallback) {
+        List<Teacher> snapshot = newTeachers != null
+                ? Collections.unmodifiableList(new ArrayList<>(newTeachers))
+                : Collections.<Teacher>emptyList();
+        differ.submitList(snapshot, commitCallback);
+    }
+
+    private static final DiffUtil.ItemCallback<Teacher> DIFF_CALLBACK = new DiffUtil.ItemCallback<Teacher>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Teacher oldItem, @NonNull Teacher newItem) {
+            return Objects.equals(idOf(oldItem), idOf(newItem));
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Teacher oldItem, @NonNull Teacher newItem) {
+            return oldItem == newItem || sameContent(oldItem, newItem);
+        }
+    };
+
+    private static String idOf(Teacher teacher) {
+        return teacher.getId() != null ? teacher.getId() : teacher.getUserId();
+    }
+
+    /**
+     * Whether every field shown on a card is equal
+     */
+    private static boolean sameContent(Teacher a, Teacher b) {
+        return Objects.equals(a.getFullName(), b.getFullName())
+                && Objects.equals(a.getProfileImageUrl(), b.getProfileImageUrl())
+                && Objects.equals(a.getProfileThumbnailUrl(), b.getProfileThumbnailUrl())
+                && Objects.equals(a.getProfileBlurHash(), b.getProfileBlurHash())
+                && Objects.equals(a.getHighestQualification(), b.getHighestQualification())
+                && Objects.equals(a.getQualification(), b.getQualification())
+                && a.getYearsOfExperience() == b.getYearsOfExperience()
+                && Objects.equals(a.getExperience(), b.getExperience())
+                && Objects.equals(a.getAddress(), b.getAddress())
+                && Objects.equals(a.getLocation(), b.getLocation())
+                && Objects.equals(a.getTeachingStreams(), b.getTeachingStreams())
+                && Objects.equals(a.getRating(), b.getRating())
+                && Objects.equals(a.getSubjectsTaught(), b.getSubjectsTaught())
+                && Objects.equals(a.getSubjects(), b.getSubjects());
     }
 
             class TeacherViewHolder extends RecyclerView.ViewHolder {
@@ -94,14 +154,14 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherV
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onTeacherClick(teachers.get(position));
+                    listener.onTeacherClick(getTeacher(position));
                 }
             });
 
             viewProfileButton.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position == RecyclerView.NO_POSITION) return;
-                Teacher t = teachers.get(position);
+                Teacher t = getTeacher(position);
                 android.content.Context ctx = itemView.getContext();
                 android.content.Intent intent = new android.content.Intent(ctx, com.example.hometutions.ViewProfileOfTeacher.class);
                 String tid = t.getId() != null ? t.getId() : t.getUserId();
@@ -112,7 +172,7 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherV
             contactButton.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onTeacherClick(teachers.get(position));
+                    listener.onTeacherClick(getTeacher(position));
                 }
             });
         }
@@ -132,43 +192,12 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherV
             String teacherNameStr = teacher.getFullName();
             teacherName.setText(teacherNameStr != null ? teacherNameStr : "Teacher Name");
             
-            // Set profile image
-            String profileImageData = teacher.getProfileImageUrl();
-            if (profileImageData != null && !profileImageData.isEmpty() && !profileImageData.startsWith("temp_")) {
-                // Check if it's a Base64 string (starts with data:image or is a long Base64 string)
-                if (profileImageData.startsWith("data:image") || profileImageData.length() > 100) {
-                    try {
-                        // Handle Base64 image data
-                        if (profileImageData.startsWith("data:image")) {
-                            // Extract Base64 part from data URL
-                            String base64Data = profileImageData.substring(profileImageData.indexOf(",") + 1);
-                            byte[] imageBytes = android.util.Base64.decode(base64Data, android.util.Base64.DEFAULT);
-                            android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                            teacherProfileImage.setImageBitmap(bitmap);
-                        } else {
-                            // Direct Base64 string
-                            byte[] imageBytes = android.util.Base64.decode(profileImageData, android.util.Base64.DEFAULT);
-                            android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                            teacherProfileImage.setImageBitmap(bitmap);
-                        }
-                    } catch (Exception e) {
-                        Log.e("TeacherAdapter", "Failed to decode Base64 image: " + e.getMessage());
-                        teacherProfileImage.setImageResource(R.drawable.ic_teacher);
-                    }
-                } else {
-                    // Regular URL, try to load with Glide
-                    Glide.with(teacherProfileImage.getContext())
-                        .load(profileImageData)
-                        .placeholder(R.drawable.ic_teacher)
-                        .error(R.drawable.ic_teacher)
-                        .transition(DrawableTransitionOptions.withCrossFade())
-                        .circleCrop()
-                        .into(teacherProfileImage);
-                }
-            } else {
-                // Set default teacher icon
-                teacherProfileImage.setImageResource(R.drawable.ic_teacher);
-            }
+            // Set profile image; cards only need the thumbnail, older records
+            // still carry a full size (possibly Base64) photo
+            String thumbnailUrl = teacher.getProfileThumbnailUrl();
+            ImageDecodeService.getInstance().load(teacherProfileImage,
+                    thumbnailUrl != null && !thumbnailUrl.isEmpty() ? thumbnailUrl : teacher.getProfileImageUrl(),
+                    teacher.getProfileBlurHash(), R.drawable.ic_teacher);
             
             // Set qualification - use highestQualification from database
             String qualification = teacher.getHighestQualification();
@@ -20,12 +20,14 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.hometutions.R;
 import com.example.hometutions.StudentLogin;
 import com.example.hometutions.adapters.SubjectChipAdapter;
+import com.example.hometutions.services.FirebaseDatabaseService;
+import com.example.hometutions.services.ImageDecodeService;
+import com.example.hometutions.services.ProfileRepository;
+import com.example.hometutions.services.StudentKeyResolver;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
@@ -38,7 +40,6 @@ public class StudentProfileFragment extends Fragment {
     private View rootView;
     private FirebaseAuth mAuth;
     private FirebaseUser currentUser;
-    private DatabaseReference databaseRef;
     
     // UI Elements
     private ImageView profilePhoto, editProfileButton, settingsButton;
@@ -63,7 +64,6 @@ public class StudentProfileFragment extends Fragment {
         super.onCreate(savedInstanceState);
         mAuth = FirebaseAuth.getInstance();
         currentUser = mAuth.getCurrentUser();
-        databaseRef = FirebaseDatabase.getInstance().getReference();
         subjectsList = new ArrayList<>();
     }
 
@@ -187,9 +187,29 @@ public class StudentProfileFragment extends Fragment {
         emailText.setText(currentUser.getEmail());
         
         final String uid = currentUser.getUid();
-        databaseRef.child("students").child(uid).addListenerForSingleValueEvent(new ValueEventListener() {
+        StudentKeyResolver.getInstance(requireContext()).resolve(uid, currentUser.getEmail(),
+                new FirebaseDatabaseService.DatabaseCallback<String>() {
+                    @Override
+                    public void onSuccess(String studentKey) {
+                        if (!isAdded()) return;
+                        ProfileRepository.getInstance().read(ProfileRepository.studentPath(studentKey),
+                                studentRecordListener(uid));
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        if (!isAdded()) return;
+                        Log.w(TAG, "No student record: " + error);
+                        setDefaultProfileData();
+                    }
+                });
+    }
+
+    private ValueEventListener studentRecordListener(String uid) {
+        return new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                if (!isAdded()) return;
                 if (dataSnapshot.exists()) {
                     // Load profile image
                     String profilePhotoUrl = getStringSafely(dataSnapshot, "profilePhotoUrl");
@@ -301,67 +321,19 @@ public class StudentProfileFragment extends Fragment {
                     }
                     
                 } else {
-                    Log.w(TAG, "Student data not found for UID. Trying userId, then email.");
-                    databaseRef.child("students").orderByChild("userId").equalTo(uid)
-                            .addListenerForSingleValueEvent(new ValueEventListener() {
-                                @Override
-                                public void onDataChange(@NonNull DataSnapshot byUserId) {
-                                    if (byUserId.exists()) {
-                                        for (DataSnapshot child : byUserId.getChildren()) { onDataChange(child); return; }
-                                    } else {
-                                        String email = currentUser.getEmail();
-                                        if (email == null) { setDefaultProfileData(); return; }
-                                        databaseRef.child("students").orderByChild("email").equalTo(email)
-                                                .addListenerForSingleValueEvent(new ValueEventListener() {
-                                                    @Override
-                                                    public void onDataChange(@NonNull DataSnapshot byEmail) {
-                                                        if (byEmail.exists()) {
-                                                            for (DataSnapshot child : byEmail.getChildren()) { onDataChange(child); return; }
-                                                        } else {
-                                                            // Final fallback: scan all children and match manually
-                                                            databaseRef.child("students").addListenerForSingleValueEvent(new ValueEventListener() {
-                                                                @Override
-                                                                public void onDataChange(@NonNull DataSnapshot all) {
-                                                                    for (DataSnapshot child : all.getChildren()) {
-                                                                        String key = child.getKey();
-                                                                        String childUserId = String.valueOf(child.child("userId").getValue());
-                                                                        String childEmail = String.valueOf(child.child("email").getValue());
-                                                                        if ((key != null && key.equals(uid)) ||
-                                                                            (childUserId != null && childUserId.equals(uid)) ||
-                                                                            (childEmail != null && childEmail.equals(email))) {
-                                                                            onDataChange(child);
-                                                                            return;
-                                                                        }
-                                                                    }
-                                                                    setDefaultProfileData();
-                                                                }
-
-                                                                @Override
-                                                                public void onCancelled(@NonNull DatabaseError error) { setDefaultProfileData(); }
-                                                            });
-                                                        }
-                                                    }
-
-                                                    @Override
-                                                    public void onCancelled(@NonNull DatabaseError error) {
-                                                        setDefaultProfileData();
-                                                    }
-                                                });
-                                    }
-                                }
-
-                                @Override
-                                public void onCancelled(@NonNull DatabaseError error) { setDefaultProfileData(); }
-                            });
+                    // The mapped record is gone; resolve it again next time
+                    StudentKeyResolver.getInstance(requireContext()).forget(uid);
+                    setDefaultProfileData();
                 }
             }
 
             @Override
             public void onCancelled(@NonNull DatabaseError databaseError) {
+                if (!isAdded()) return;
                 Log.e(TAG, "Error fetching student data: " + databaseError.getMessage());
                 setDefaultProfileData();
             }
-        });
+        };
     }
 
     private String getStringSafely(DataSnapshot parent, String key) {
@@ -422,31 +394,7 @@ public class StudentProfileFragment extends Fragment {
     }
     
     private void displayProfileImage(String profileImageData) {
-        try {
-            // Check if it's a Base64 string (starts with data:image or is a long Base64 string)
-            if (profileImageData.startsWith("data:image") || profileImageData.length() > 100) {
-                // Handle Base64 image data
-                if (profileImageData.startsWith("data:image")) {
-                    // Extract Base64 part from data URL
-                    String base64Data = profileImageData.substring(profileImageData.indexOf(",") + 1);
-                    byte[] imageBytes = android.util.Base64.decode(base64Data, android.util.Base64.DEFAULT);
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                    profilePhoto.setImageBitmap(bitmap);
-                } else {
-                    // Direct Base64 string
-                    byte[] imageBytes = android.util.Base64.decode(profileImageData, android.util.Base64.DEFAULT);
-                    android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
-                    profilePhoto.setImageBitmap(bitmap);
-                }
-                Log.d(TAG, "Profile image displayed successfully from Base64 data");
-            } else {
-                // Regular URL, set default for now
-                profilePhoto.setImageResource(R.drawable.ic_student_placeholder);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to decode profile image: " + e.getMessage());
-            profilePhoto.setImageResource(R.drawable.ic_student_placeholder);
-        }
+        ImageDecodeService.getInstance().load(profilePhoto, profileImageData, R.drawable.ic_student_placeholder);
     }
     
     private void setDefaultProfileData() {
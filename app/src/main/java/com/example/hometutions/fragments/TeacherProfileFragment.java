@@ -22,6 +22,8 @@ import com.example.hometutions.R;
 import com.example.hometutions.models.Teacher;
 import com.example.hometutions.services.FirebaseAuthService;
 import com.example.hometutions.services.FirebaseDatabaseService;
+import com.example.hometutions.services.ImageDecodeService;
+import com.example.hometutions.services.ProfileRepository;
 import com.example.hometutions.utils.AnimationUtils;
 import com.google.firebase.auth.FirebaseUser;
 
@@ -43,7 +45,7 @@ public class TeacherProfileFragment extends Fragment implements FirebaseAuthServ
 
 	// Services
 	private FirebaseAuthService authService;
-	private FirebaseDatabaseService databaseService;
+	private ProfileRepository profileRepository;
 
 	// Data
 	private Teacher currentTeacher;
@@ -72,7 +74,7 @@ public class TeacherProfileFragment extends Fragment implements FirebaseAuthServ
 
 	private void initializeServices() {
 		authService = new FirebaseAuthService(requireActivity(), this);
-		databaseService = new FirebaseDatabaseService();
+		profileRepository = ProfileRepository.getInstance();
 	}
 
 	private void initializeViews(View root) {
@@ -212,7 +214,7 @@ public class TeacherProfileFragment extends Fragment implements FirebaseAuthServ
 		// Show lightweight loading placeholder
 		if (profilePhoto != null) profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder);
 
-		databaseService.getTeacher(teacherId, new FirebaseDatabaseService.DatabaseCallback<Teacher>() {
+		profileRepository.getTeacher(teacherId, new FirebaseDatabaseService.DatabaseCallback<Teacher>() {
 			@Override
 			public void onSuccess(Teacher teacher) {
 				currentTeacher = teacher;
@@ -272,7 +274,7 @@ public class TeacherProfileFragment extends Fragment implements FirebaseAuthServ
 		updateSubjectsAndStreams(teacher);
 
 		String imageUrl = teacher.getProfileImageUrl();
-		if (imageUrl != null && !imageUrl.isEmpty()) displayProfileImage(imageUrl);
+		if (imageUrl != null && !imageUrl.isEmpty()) displayProfileImage(imageUrl, teacher.getProfileBlurHash());
 		else if (profilePhoto != null) profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder);
 	}
 
@@ -349,26 +351,9 @@ public class TeacherProfileFragment extends Fragment implements FirebaseAuthServ
 		}
 	}
 
-	private void displayProfileImage(String profileImageData) {
-		try {
-			if (profileImageData.startsWith("data:image") || profileImageData.length() > 100) {
-				String base64 = profileImageData.startsWith("data:image") ? profileImageData.substring(profileImageData.indexOf(',') + 1) : profileImageData;
-				byte[] bytes = android.util.Base64.decode(base64, android.util.Base64.DEFAULT);
-				android.graphics.Bitmap bmp = android.graphics.BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
-				profilePhoto.setImageBitmap(bmp);
-			} else {
-				Glide.with(this)
-					.load(profileImageData)
-					.placeholder(R.drawable.ic_teacher_placeholder)
-					.error(R.drawable.ic_teacher_placeholder)
-					.timeout(10000)
-					.circleCrop()
-					.into(profilePhoto);
-			}
-		} catch (Exception e) {
-			Log.e(TAG, "Failed to decode profile image: " + e.getMessage());
-			profilePhoto.setImageResource(R.drawable.ic_teacher_placeholder);
-		}
+	private void displayProfileImage(String profileImageData, String blurHash) {
+		if (profilePhoto == null) return;
+		ImageDecodeService.getInstance().load(profilePhoto, profileImageData, blurHash, R.drawable.ic_teacher_placeholder);
 	}
 
 	private void setTextSafely(TextView view, String text) { if (view != null) view.setText(text); }
@@ -17,6 +17,8 @@ public class Student extends User {
     private int maxBudget;
     private String preferredTimeSlot;
     private String additionalRequirements;
+    private Double latitude;
+    private Double longitude;
 
     public Student() {
         super();
@@ -66,4 +68,12 @@ public class Student extends User {
 
     public String getAdditionalRequirements() { return additionalRequirements; }
     public void setAdditionalRequirements(String additionalRequirements) { this.additionalRequirements = additionalRequirements; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public boolean hasCoordinates() { return latitude != null && longitude != null; }
 }
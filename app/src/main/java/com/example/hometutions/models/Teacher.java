@@ -15,6 +15,8 @@ public class Teacher {
     private Object hourlyRate; // Can be String or Long
     private String rating;
     private String profileImageUrl;
+    private String profileThumbnailUrl; // small version of the profile photo for lists
+    private String profileBlurHash; // blurred preview shown until the photo has loaded
     private String bio;
     private boolean isVerified;
     private String availability;
@@ -39,6 +41,10 @@ public class Teacher {
     private String userType;
     private Object createdAt; // Can be String or Long
 
+    // Geocoded position of the teacher's address, used for distance search
+    private Double latitude;
+    private Double longitude;
+
     // Default constructor
     public Teacher() {
     }
@@ -154,6 +160,22 @@ public class Teacher {
         this.profileImageUrl = profileImageUrl;
     }
 
+    public String getProfileThumbnailUrl() {
+        return profileThumbnailUrl;
+    }
+
+    public void setProfileThumbnailUrl(String profileThumbnailUrl) {
+        this.profileThumbnailUrl = profileThumbnailUrl;
+    }
+
+    public String getProfileBlurHash() {
+        return profileBlurHash;
+    }
+
+    public void setProfileBlurHash(String profileBlurHash) {
+        this.profileBlurHash = profileBlurHash;
+    }
+
     public String getBio() {
         return bio;
     }
@@ -334,4 +356,24 @@ public class Teacher {
     public void setCreatedAt(Object createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
 }
@@ -11,6 +11,7 @@ public class User {
     private String address;
     private String userType; // "student" or "teacher"
     private String profilePhotoUrl;
+    private String profileThumbnailUrl; // small version of the profile photo
     private long createdAt;
     private boolean isVerified;
     private Map<String, Object> additionalData;
@@ -51,6 +52,9 @@ public class User {
     public String getProfilePhotoUrl() { return profilePhotoUrl; }
     public void setProfilePhotoUrl(String profilePhotoUrl) { this.profilePhotoUrl = profilePhotoUrl; }
 
+    public String getProfileThumbnailUrl() { return profileThumbnailUrl; }
+    public void setProfileThumbnailUrl(String profileThumbnailUrl) { this.profileThumbnailUrl = profileThumbnailUrl; }
+
     public long getCreatedAt() { return createdAt; }
     public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,85 @@
+package com.example.hometutions.services;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.example.hometutions.models.Student;
+import com.example.hometutions.models.Teacher;
+import com.example.hometutions.utils.LocationUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adds coordinates to a record saved without them, either before the distance
+ * filter existed or because geocoding timed out during sign-up. The address is
+ * geocoded in the background and latitude/longitude are written to the record.
+ * Like {@link ImageMigrationJob} every user fills in their own record after
+ * signing in, the only node the database rules let them write. Records whose
+ * address cannot be geocoded are simply tried again on the next sign-in.
+ */
+public class CoordinateBackfillJob {
+    private static final String TAG = "CoordinateBackfillJob";
+
+    private final Context context;
+    private final ProfileRepository profileRepository;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public CoordinateBackfillJob(Context context) {
+        this.context = context.getApplicationContext();
+        profileRepository = ProfileRepository.getInstance();
+    }
+
+    /**
+     * Geocode the student stored under studentKey if needed; the callback only
+     * hears about coordinates that were actually found and saved
+     */
+    public void backfillStudent(String studentKey, Student student,
+                                FirebaseDatabaseService.DatabaseCallback<double[]> callback) {
+        if (student == null || student.hasCoordinates()) return;
+        backfill(studentKey, student.getAddress(), (updates, saved) ->
+                profileRepository.updateStudent(studentKey, updates, saved), callback);
+    }
+
+    public void backfillTeacher(String userId, Teacher teacher) {
+        if (teacher == null || teacher.hasCoordinates()) return;
+        backfill(userId, teacher.getAddress(), (updates, saved) ->
+                profileRepository.updateTeacher(userId, updates, saved), null);
+    }
+
+    private interface Writer {
+        void write(Map<String, Object> updates, FirebaseDatabaseService.DatabaseCallback<Void> callback);
+    }
+
+    private void backfill(String key, String address, Writer writer,
+                          FirebaseDatabaseService.DatabaseCallback<double[]> callback) {
+        if (key == null || TextUtils.isEmpty(address)) return;
+
+        LocationUtils.geocodeAddressAsync(context, address.trim(), LocationUtils.GEOCODE_TIMEOUT_MS)
+                .thenAccept(coordinates -> mainHandler.post(() -> {
+                    if (coordinates == null) {
+                        Log.w(TAG, "Could not geocode the address of " + key);
+                        return;
+                    }
+                    Map<String, Object> updates = new HashMap<>();
+                    updates.put("latitude", coordinates[0]);
+                    updates.put("longitude", coordinates[1]);
+                    writer.write(updates, new FirebaseDatabaseService.DatabaseCallback<Void>() {
+                        @Override
+                        public void onSuccess(Void result) {
+                            Log.d(TAG, "Saved coordinates of " + key);
+                            if (callback != null) callback.onSuccess(coordinates);
+                        }
+
+                        @Override
+                        public void onFailure(String error) {
+                            Log.e(TAG, "Failed to save coordinates of " + key + ": " + error);
+                            if (callback != null) callback.onFailure(error);
+                        }
+                    });
+                }));
+    }
+}
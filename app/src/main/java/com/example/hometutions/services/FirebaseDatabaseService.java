@@ -7,6 +7,7 @@ import androidx.annotation.NonNull;
 import com.example.hometutions.models.Student;
 import com.example.hometutions.models.Teacher;
 import com.example.hometutions.models.User;
+import com.example.hometutions.utils.InlineImageModelLoader;
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
@@ -18,9 +19,13 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class FirebaseDatabaseService {
     private static final String TAG = "FirebaseDatabaseService";
@@ -29,6 +34,26 @@ public class FirebaseDatabaseService {
     private DatabaseReference usersRef;
     private DatabaseReference studentsRef;
     private DatabaseReference teachersRef;
+    private DatabaseReference teacherSummariesRef;
+    
+    // Fan-out search index nodes: index/{type}/{key}/{teacherId} = true
+    private static final String INDEX_SUBJECT = "subject";
+    private static final String INDEX_STREAM = "stream";
+    private static final String INDEX_LOCATION = "location";
+    private static final String[] INDEXED_FIELDS = {"subjectsTaught", "subjects", "teachingStreams", "address", "location"};
+    
+    // Writes that rewrite a teacher's summary and index entries bump teachers/{id}/revision;
+    // the rules reject a revision that is not the successor of the stored one
+    private static final String REVISION_FIELD = "revision";
+    private static final int MAX_REWRITE_ATTEMPTS = 3;
+    
+    // Card fields copied to teacherSummaries/{teacherId}, so lists and search never
+    // download documents, bios or full size photos. profileImageUrl is only
+    // copied when it is a URL, as a fallback for teachers without a thumbnail.
+    private static final String[] SUMMARY_FIELDS = {"userId", "fullName", "gender", "highestQualification",
+            "qualification", "institution", "yearsOfExperience", "experience", "subjectsTaught", "subjects",
+            "teachingStreams", "address", "location", "rating", "hourlyRate", "availability",
+            "profileImageUrl", "profileThumbnailUrl", "profileBlurHash", "latitude", "longitude"};
     
     public interface DatabaseCallback<T> {
         void onSuccess(T result);
@@ -40,6 +65,7 @@ public class FirebaseDatabaseService {
         usersRef = mDatabase.child("users");
         studentsRef = mDatabase.child("students");
         teachersRef = mDatabase.child("teachers");
+        teacherSummariesRef = mDatabase.child("teacherSummaries");
     }
     
     // User operations
@@ -102,7 +128,13 @@ public class FirebaseDatabaseService {
     // Student operations
     public void createStudent(Student student, DatabaseCallback<Void> callback) {
         String userId = student.getUserId();
-        studentsRef.child(userId).setValue(student)
+        
+        // Students are keyed by uid; the mapping lets StudentKeyResolver find them with one read
+        Map<String, Object> fanOut = new HashMap<>();
+        fanOut.put("students/" + userId, student);
+        fanOut.put("studentKeys/" + userId, userId);
+        
+        mDatabase.updateChildren(fanOut)
                 .addOnSuccessListener(new OnSuccessListener<Void>() {
                     @Override
                     public void onSuccess(Void aVoid) {
@@ -159,7 +191,14 @@ public class FirebaseDatabaseService {
     // Teacher operations
     public void createTeacher(Teacher teacher, DatabaseCallback<Void> callback) {
         String userId = teacher.getUserId();
-        teachersRef.child(userId).setValue(teacher)
+        
+        // Write the record, its summary and its search index entries atomically
+        Map<String, Object> fanOut = new HashMap<>();
+        fanOut.put("teachers/" + userId, teacher);
+        fanOut.put("teacherSummaries/" + userId, summaryOf(teacher));
+        addIndexUpdates(fanOut, userId, Collections.<String, Object>emptyMap(), indexedFieldsOf(teacher));
+        
+        mDatabase.updateChildren(fanOut)
                 .addOnSuccessListener(new OnSuccessListener<Void>() {
                     @Override
                     public void onSuccess(Void aVoid) {
@@ -180,7 +219,7 @@ public class FirebaseDatabaseService {
         teachersRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                Teacher teacher = dataSnapshot.getValue(Teacher.class);
+                Teacher teacher = TeacherMapper.fromSnapshot(dataSnapshot);
                 if (teacher != null) {
                     callback.onSuccess(teacher);
                 } else {
@@ -196,120 +235,416 @@ public class FirebaseDatabaseService {
     }
     
     public void updateTeacher(String userId, Map<String, Object> updates, DatabaseCallback<Void> callback) {
-        teachersRef.child(userId).updateChildren(updates)
-                .addOnSuccessListener(new OnSuccessListener<Void>() {
-                    @Override
-                    public void onSuccess(Void aVoid) {
-                        Log.d(TAG, "Teacher updated successfully");
-                        callback.onSuccess(null);
-                    }
-                })
-                .addOnFailureListener(new OnFailureListener() {
-                    @Override
-                    public void onFailure(@NonNull Exception e) {
-                        Log.e(TAG, "Failed to update teacher", e);
-                        callback.onFailure("Failed to update teacher: " + e.getMessage());
-                    }
-                });
+        if (!touchesSummaryFields(updates)) {
+            writeTeacherUpdate(teachersRef.child(userId), updates, callback);
+            return;
+        }
+        rewriteTeacher(userId, updates, touchesIndexedFields(updates), MAX_REWRITE_ATTEMPTS, callback);
+    }
+    
+    /**
+     * Rewrite the summary and search index entries of the signed-in teacher from
+     * their record. Teachers registered before those nodes existed run this after
+     * signing in; the rules only let teachers write their own entries.
+     */
+    public void refreshTeacherEntries(String userId, DatabaseCallback<Void> callback) {
+        rewriteTeacher(userId, Collections.<String, Object>emptyMap(), true, MAX_REWRITE_ATTEMPTS, callback);
     }
     
-    // Search operations
-    public void searchTeachersBySubject(String subject, DatabaseCallback<List<Teacher>> callback) {
-        teachersRef.orderByChild("subjectsTaught").addListenerForSingleValueEvent(new ValueEventListener() {
+    /**
+     * {@link #refreshTeacherEntries} for a teacher without a summary, i.e. one
+     * whose record was written before summaries and index entries were written with it
+     */
+    public void backfillTeacherEntries(String userId, DatabaseCallback<Void> callback) {
+        teacherSummariesRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                List<Teacher> teachers = new ArrayList<>();
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    Teacher teacher = snapshot.getValue(Teacher.class);
-                    if (teacher != null && teacher.getSubjectsTaught() != null && 
-                        teacher.getSubjectsTaught().contains(subject)) {
-                        teachers.add(teacher);
-                    }
+                if (dataSnapshot.exists()) {
+                    callback.onSuccess(null);
+                    return;
                 }
-                callback.onSuccess(teachers);
+                Log.d(TAG, "Writing summary and search index entries of " + userId);
+                refreshTeacherEntries(userId, callback);
             }
             
             @Override
             public void onCancelled(@NonNull DatabaseError databaseError) {
-                callback.onFailure("Failed to search teachers: " + databaseError.getMessage());
+                callback.onFailure("Failed to read teacher summary: " + databaseError.getMessage());
             }
         });
     }
     
-    public void searchTeachersByLocation(String location, DatabaseCallback<List<Teacher>> callback) {
-        teachersRef.orderByChild("address").addListenerForSingleValueEvent(new ValueEventListener() {
+    /**
+     * One-shot backfill of the summary and search index entries of every teacher
+     * that has no summary yet, including teachers who never sign in again.
+     * Listing /teachers is only allowed for accounts with the admin claim; see
+     * {@link TeacherSummaryBackfillJob}. Delivers the number of teachers written.
+     */
+    public void backfillAllTeacherEntries(DatabaseCallback<Integer> callback) {
+        teacherSummariesRef.addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
-                List<Teacher> teachers = new ArrayList<>();
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    Teacher teacher = snapshot.getValue(Teacher.class);
-                    if (teacher != null && teacher.getAddress() != null && 
-                        teacher.getAddress().toLowerCase().contains(location.toLowerCase())) {
-                        teachers.add(teacher);
+            public void onDataChange(@NonNull DataSnapshot summaries) {
+                teachersRef.addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot teachers) {
+                        Map<String, Object> fanOut = new HashMap<>();
+                        int count = 0;
+                        for (DataSnapshot teacher : teachers.getChildren()) {
+                            String teacherId = teacher.getKey();
+                            if (summaries.hasChild(teacherId)) continue;
+                            fanOut.put("teacherSummaries/" + teacherId, summaryOf(teacher));
+                            addIndexUpdates(fanOut, teacherId, Collections.<String, Object>emptyMap(),
+                                    indexedFieldsOf(teacher));
+                            count++;
+                        }
+                        if (fanOut.isEmpty()) {
+                            callback.onSuccess(0);
+                            return;
+                        }
+                        final int written = count;
+                        mDatabase.updateChildren(fanOut)
+                                .addOnSuccessListener(aVoid -> {
+                                    Log.d(TAG, "Backfilled entries of " + written + " teachers");
+                                    callback.onSuccess(written);
+                                })
+                                .addOnFailureListener(e -> {
+                                    Log.e(TAG, "Failed to backfill teacher entries", e);
+                                    callback.onFailure("Failed to backfill teacher entries: " + e.getMessage());
+                                });
                     }
+                    
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError databaseError) {
+                        callback.onFailure("Failed to read teachers: " + databaseError.getMessage());
+                    }
+                });
+            }
+            
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                callback.onFailure("Failed to read teacher summaries: " + databaseError.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Apply updates to a teacher and rewrite their summary (and index entries if
+     * reindex) from the current record. The multi-path write also bumps the
+     * record's revision, which the rules only accept as the successor of the
+     * revision read here, so an edit that raced with another one is rejected and
+     * redone from the newer record instead of leaving stale summary or index entries.
+     */
+    private void rewriteTeacher(String userId, Map<String, Object> updates, boolean reindex,
+                                int attemptsLeft, DatabaseCallback<Void> callback) {
+        teachersRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                if (!dataSnapshot.exists() && updates.isEmpty()) {
+                    callback.onFailure("Teacher not found");
+                    return;
+                }
+                
+                Map<String, Object> oldFields = indexedFieldsOf(dataSnapshot);
+                Map<String, Object> newFields = new HashMap<>(oldFields);
+                for (String field : INDEXED_FIELDS) {
+                    if (updates.containsKey(field)) newFields.put(field, updates.get(field));
+                }
+                Map<String, Object> summary = summaryOf(dataSnapshot);
+                for (String field : SUMMARY_FIELDS) {
+                    if (updates.containsKey(field)) putSummaryField(summary, field, updates.get(field));
+                }
+                
+                Map<String, Object> fanOut = new HashMap<>();
+                for (Map.Entry<String, Object> entry : updates.entrySet()) {
+                    fanOut.put("teachers/" + userId + "/" + entry.getKey(), entry.getValue());
                 }
-                callback.onSuccess(teachers);
+                fanOut.put("teachers/" + userId + "/" + REVISION_FIELD, revisionOf(dataSnapshot) + 1);
+                fanOut.put("teacherSummaries/" + userId, summary);
+                if (reindex) {
+                    addIndexUpdates(fanOut, userId, oldFields, newFields);
+                }
+                
+                mDatabase.updateChildren(fanOut)
+                        .addOnSuccessListener(aVoid -> {
+                            Log.d(TAG, "Teacher updated successfully");
+                            callback.onSuccess(null);
+                        })
+                        .addOnFailureListener(e -> {
+                            if (isRevisionConflict(e) && attemptsLeft > 1) {
+                                Log.w(TAG, "Teacher " + userId + " changed during update, retrying: " + e.getMessage());
+                                rewriteTeacher(userId, updates, reindex, attemptsLeft - 1, callback);
+                            } else {
+                                Log.e(TAG, "Failed to update teacher", e);
+                                callback.onFailure("Failed to update teacher: " + e.getMessage());
+                            }
+                        });
             }
             
             @Override
             public void onCancelled(@NonNull DatabaseError databaseError) {
-                callback.onFailure("Failed to search teachers: " + databaseError.getMessage());
+                callback.onFailure("Failed to update teacher: " + databaseError.getMessage());
             }
         });
     }
     
-    // Delete operations
-    public void deleteUser(String userId, DatabaseCallback<Void> callback) {
-        usersRef.child(userId).removeValue()
+    /**
+     * A rejected revision surfaces as a permission error; anything else (offline,
+     * a malformed value) will not go away by reading the record again
+     */
+    private static boolean isRevisionConflict(Exception e) {
+        String message = e.getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains("permission denied");
+    }
+    
+    private static long revisionOf(DataSnapshot snapshot) {
+        Object revision = snapshot.child(REVISION_FIELD).getValue();
+        return revision instanceof Number ? ((Number) revision).longValue() : 0;
+    }
+    
+    private void writeTeacherUpdate(DatabaseReference ref, Map<String, Object> updates, DatabaseCallback<Void> callback) {
+        ref.updateChildren(updates)
                 .addOnSuccessListener(new OnSuccessListener<Void>() {
                     @Override
                     public void onSuccess(Void aVoid) {
-                        Log.d(TAG, "User deleted successfully");
+                        Log.d(TAG, "Teacher updated successfully");
                         callback.onSuccess(null);
                     }
                 })
                 .addOnFailureListener(new OnFailureListener() {
                     @Override
                     public void onFailure(@NonNull Exception e) {
-                        Log.e(TAG, "Failed to delete user", e);
-                        callback.onFailure("Failed to delete user: " + e.getMessage());
+                        Log.e(TAG, "Failed to update teacher", e);
+                        callback.onFailure("Failed to update teacher: " + e.getMessage());
                     }
                 });
     }
     
-    public void deleteStudent(String userId, DatabaseCallback<Void> callback) {
-        studentsRef.child(userId).removeValue()
+    // Teacher summary maintenance
+    private static boolean touchesSummaryFields(Map<String, Object> updates) {
+        for (String field : SUMMARY_FIELDS) {
+            if (updates.containsKey(field)) return true;
+        }
+        return false;
+    }
+    
+    private static Map<String, Object> summaryOf(Teacher teacher) {
+        Map<String, Object> summary = new HashMap<>();
+        putSummaryField(summary, "userId", teacher.getUserId());
+        putSummaryField(summary, "fullName", teacher.getFullName());
+        putSummaryField(summary, "gender", teacher.getGender());
+        putSummaryField(summary, "highestQualification", teacher.getHighestQualification());
+        putSummaryField(summary, "qualification", teacher.getQualification());
+        putSummaryField(summary, "institution", teacher.getInstitution());
+        putSummaryField(summary, "yearsOfExperience", teacher.getYearsOfExperience());
+        putSummaryField(summary, "experience", teacher.getExperience());
+        putSummaryField(summary, "subjectsTaught", teacher.getSubjectsTaught());
+        putSummaryField(summary, "subjects", teacher.getSubjects());
+        putSummaryField(summary, "teachingStreams", teacher.getTeachingStreams());
+        putSummaryField(summary, "address", teacher.getAddress());
+        putSummaryField(summary, "location", teacher.getLocation());
+        putSummaryField(summary, "rating", teacher.getRating());
+        putSummaryField(summary, "hourlyRate", teacher.getHourlyRate());
+        putSummaryField(summary, "availability", teacher.getAvailability());
+        putSummaryField(summary, "profileImageUrl", teacher.getProfileImageUrl());
+        putSummaryField(summary, "profileThumbnailUrl", teacher.getProfileThumbnailUrl());
+        putSummaryField(summary, "profileBlurHash", teacher.getProfileBlurHash());
+        putSummaryField(summary, "latitude", teacher.getLatitude());
+        putSummaryField(summary, "longitude", teacher.getLongitude());
+        return summary;
+    }
+    
+    private static Map<String, Object> summaryOf(DataSnapshot snapshot) {
+        Map<String, Object> summary = new HashMap<>();
+        for (String field : SUMMARY_FIELDS) {
+            putSummaryField(summary, field, snapshot.child(field).getValue());
+        }
+        return summary;
+    }
+    
+    private static void putSummaryField(Map<String, Object> summary, String field, Object value) {
+        if (value == null || (field.equals("profileImageUrl") && InlineImageModelLoader.isInlineImage(String.valueOf(value)))) {
+            summary.remove(field);
+        } else {
+            summary.put(field, value);
+        }
+    }
+    
+    // Search index maintenance
+    private static boolean touchesIndexedFields(Map<String, Object> updates) {
+        for (String field : INDEXED_FIELDS) {
+            if (updates.containsKey(field)) return true;
+        }
+        return false;
+    }
+    
+    
+    private static Map<String, Object> indexedFieldsOf(Teacher teacher) {
+        Map<String, Object> fields = new HashMap<>();
+        if (teacher == null) return fields;
+        fields.put("subjectsTaught", teacher.getSubjectsTaught());
+        fields.put("subjects", teacher.getSubjects());
+        fields.put("teachingStreams", teacher.getTeachingStreams());
+        fields.put("address", teacher.getAddress());
+        fields.put("location", teacher.getLocation());
+        return fields;
+    }
+    
+    private static Map<String, Object> indexedFieldsOf(DataSnapshot snapshot) {
+        Map<String, Object> fields = new HashMap<>();
+        for (String field : INDEXED_FIELDS) {
+            fields.put(field, snapshot.child(field).getValue());
+        }
+        return fields;
+    }
+    
+    /**
+     * Add index writes for newFields and deletes for keys only present in oldFields
+     */
+    private static void addIndexUpdates(Map<String, Object> fanOut, String teacherId,
+                                        Map<String, Object> oldFields, Map<String, Object> newFields) {
+        addIndexDiff(fanOut, INDEX_SUBJECT, teacherId, subjectKeys(oldFields), subjectKeys(newFields));
+        addIndexDiff(fanOut, INDEX_STREAM, teacherId, listKeys(oldFields.get("teachingStreams")), listKeys(newFields.get("teachingStreams")));
+        addIndexDiff(fanOut, INDEX_LOCATION, teacherId, locationKeys(oldFields), locationKeys(newFields));
+    }
+    
+    private static void addIndexDiff(Map<String, Object> fanOut, String type, String teacherId,
+                                     Set<String> oldKeys, Set<String> newKeys) {
+        for (String key : oldKeys) {
+            if (!newKeys.contains(key)) fanOut.put("index/" + type + "/" + key + "/" + teacherId, null);
+        }
+        for (String key : newKeys) {
+            fanOut.put("index/" + type + "/" + key + "/" + teacherId, true);
+        }
+    }
+    
+    private static Set<String> subjectKeys(Map<String, Object> fields) {
+        Set<String> keys = listKeys(fields.get("subjectsTaught"));
+        // Legacy comma separated "subjects" field
+        Object legacy = fields.get("subjects");
+        if (legacy != null) {
+            for (String subject : String.valueOf(legacy).split(",")) {
+                String key = indexKey(subject);
+                if (!key.isEmpty()) keys.add(key);
+            }
+        }
+        return keys;
+    }
+    
+    private static Set<String> listKeys(Object value) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                String key = item != null ? indexKey(String.valueOf(item)) : "";
+                if (!key.isEmpty()) keys.add(key);
+            }
+        } else if (value instanceof Map) {
+            // Firebase may return sparse arrays as maps
+            for (Object item : ((Map<?, ?>) value).values()) {
+                String key = item != null ? indexKey(String.valueOf(item)) : "";
+                if (!key.isEmpty()) keys.add(key);
+            }
+        }
+        return keys;
+    }
+    
+    private static Set<String> locationKeys(Map<String, Object> fields) {
+        Set<String> keys = new LinkedHashSet<>();
+        Object address = fields.get("address");
+        Object location = fields.get("location");
+        if (address != null) keys.addAll(locationTokens(String.valueOf(address)));
+        if (location != null) keys.addAll(locationTokens(String.valueOf(location)));
+        return keys;
+    }
+    
+    private static Set<String> locationTokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) return tokens;
+        for (String part : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!part.isEmpty()) tokens.add(part);
+        }
+        return tokens;
+    }
+    
+    /**
+     * Normalize a value into a valid database key (no . $ # [ ] /)
+     */
+    private static String indexKey(String value) {
+        if (value == null) return "";
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("[.$#\\[\\]/]", "_");
+    }
+    
+    // Delete operations
+    public void deleteUser(String userId, DatabaseCallback<Void> callback) {
+        usersRef.child(userId).removeValue()
                 .addOnSuccessListener(new OnSuccessListener<Void>() {
                     @Override
                     public void onSuccess(Void aVoid) {
-                        Log.d(TAG, "Student deleted successfully");
+                        Log.d(TAG, "User deleted successfully");
                         callback.onSuccess(null);
                     }
                 })
                 .addOnFailureListener(new OnFailureListener() {
                     @Override
                     public void onFailure(@NonNull Exception e) {
-                        Log.e(TAG, "Failed to delete student", e);
-                        callback.onFailure("Failed to delete student: " + e.getMessage());
+                        Log.e(TAG, "Failed to delete user", e);
+                        callback.onFailure("Failed to delete user: " + e.getMessage());
                     }
                 });
     }
     
-    public void deleteTeacher(String userId, DatabaseCallback<Void> callback) {
-        teachersRef.child(userId).removeValue()
+    public void deleteStudent(String userId, DatabaseCallback<Void> callback) {
+        Map<String, Object> fanOut = new HashMap<>();
+        fanOut.put("students/" + userId, null);
+        fanOut.put("studentKeys/" + userId, null);
+        
+        mDatabase.updateChildren(fanOut)
                 .addOnSuccessListener(new OnSuccessListener<Void>() {
                     @Override
                     public void onSuccess(Void aVoid) {
-                        Log.d(TAG, "Teacher deleted successfully");
+                        Log.d(TAG, "Student deleted successfully");
                         callback.onSuccess(null);
                     }
                 })
                 .addOnFailureListener(new OnFailureListener() {
                     @Override
                     public void onFailure(@NonNull Exception e) {
-                        Log.e(TAG, "Failed to delete teacher", e);
-                        callback.onFailure("Failed to delete teacher: " + e.getMessage());
+                        Log.e(TAG, "Failed to delete student", e);
+                        callback.onFailure("Failed to delete student: " + e.getMessage());
                     }
                 });
     }
+    
+    public void deleteTeacher(String userId, DatabaseCallback<Void> callback) {
+        // Read the record first so its search index entries can be removed with it
+        teachersRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                Map<String, Object> fanOut = new HashMap<>();
+                fanOut.put("teachers/" + userId, null);
+                fanOut.put("teacherSummaries/" + userId, null);
+                addIndexUpdates(fanOut, userId, indexedFieldsOf(dataSnapshot), Collections.<String, Object>emptyMap());
+                
+                mDatabase.updateChildren(fanOut)
+                        .addOnSuccessListener(new OnSuccessListener<Void>() {
+                            @Override
+                            public void onSuccess(Void aVoid) {
+                                Log.d(TAG, "Teacher deleted successfully");
+                                callback.onSuccess(null);
+                            }
+                        })
+                        .addOnFailureListener(new OnFailureListener() {
+                            @Override
+                            public void onFailure(@NonNull Exception e) {
+                                Log.e(TAG, "Failed to delete teacher", e);
+                                callback.onFailure("Failed to delete teacher: " + e.getMessage());
+                            }
+                        });
+            }
+            
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                callback.onFailure("Failed to delete teacher: " + databaseError.getMessage());
+            }
+        });
+    }
 }
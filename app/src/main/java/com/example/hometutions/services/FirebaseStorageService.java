@@ -10,10 +10,13 @@ import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.gms.tasks.Task;
 import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageMetadata;
 import com.google.firebase.storage.StorageReference;
 import com.google.firebase.storage.UploadTask;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 public class FirebaseStorageService {
@@ -28,6 +31,14 @@ public class FirebaseStorageService {
         void onProgress(double progress);
     }
     
+    /**
+     * Result of uploading several images at once, keyed like the request
+     */
+    public interface ImageSetCallback {
+        void onSuccess(Map<String, String> downloadUrls);
+        void onFailure(String error);
+    }
+    
     public FirebaseStorageService() {
         storage = FirebaseStorage.getInstance();
         storageRef = storage.getReference();
@@ -57,6 +68,108 @@ public class FirebaseStorageService {
         });
     }
     
+    /**
+     * Storage path of a user's profile photo. Paths are fixed per user so that
+     * re-uploading (or re-running the migration) overwrites instead of piling up.
+     * They carry no extension since images may be JPEG or WebP; the content
+     * type is set on upload.
+     */
+    public static String profilePhotoPath(String userId) {
+        return "profile_photos/" + userId + "/photo";
+    }
+    
+    public static String profileThumbnailPath(String userId) {
+        return "profile_photos/" + userId + "/thumb";
+    }
+    
+    public static String documentImagePath(String userId, String documentType) {
+        return "documents/" + userId + "/" + documentType;
+    }
+    
+    /**
+     * Upload already compressed JPEG or WebP bytes to the given path
+     */
+    public void uploadImageBytes(byte[] imageBytes, String path, StorageCallback callback) {
+        StorageReference imageRef = storageRef.child(path);
+        StorageMetadata metadata = new StorageMetadata.Builder()
+                .setContentType(imageContentType(imageBytes))
+                .setCacheControl(cacheControl(path))
+                .build();
+        
+        imageRef.putBytes(imageBytes, metadata).addOnProgressListener(taskSnapshot -> {
+            double progress = (100.0 * taskSnapshot.getBytesTransferred()) / taskSnapshot.getTotalByteCount();
+            callback.onProgress(progress);
+        }).addOnSuccessListener(taskSnapshot -> {
+            imageRef.getDownloadUrl().addOnSuccessListener(uri -> {
+                Log.d(TAG, "Uploaded " + imageBytes.length + " bytes to " + path);
+                callback.onSuccess(uri.toString());
+            }).addOnFailureListener(e -> {
+                callback.onFailure("Failed to get download URL: " + e.getMessage());
+            });
+        }).addOnFailureListener(e -> {
+            Log.e(TAG, "Upload failed for: " + path, e);
+            callback.onFailure("Upload failed: " + e.getMessage());
+        });
+    }
+    
+    /**
+     * Profile photos are shown to everyone and may sit in shared caches for a
+     * week; identity documents must never be kept by a proxy
+     */
+    static String cacheControl(String path) {
+        return path.startsWith("profile_photos/") ? "public, max-age=604800" : "private, no-store";
+    }
+    
+    /**
+     * WebP files start with "RIFF", a length and "WEBP"; everything else we
+     * upload is JPEG
+     */
+    static String imageContentType(byte[] bytes) {
+        boolean webp = bytes.length >= 12
+                && bytes[0] == 'R' && bytes[1] == 'I' && bytes[2] == 'F' && bytes[3] == 'F'
+                && bytes[8] == 'W' && bytes[9] == 'E' && bytes[10] == 'B' && bytes[11] == 'P';
+        return webp ? "image/webp" : "image/jpeg";
+    }
+    
+    /**
+     * Upload several images in parallel. Each key of the map is reported back
+     * with its download URL once all uploads finished; the first failure wins.
+     */
+    public void uploadImages(Map<String, byte[]> imageBytesByPath, ImageSetCallback callback) {
+        final Map<String, String> downloadUrls = new HashMap<>();
+        final int total = imageBytesByPath.size();
+        final boolean[] failed = {false};
+        if (total == 0) {
+            callback.onSuccess(downloadUrls);
+            return;
+        }
+        
+        for (Map.Entry<String, byte[]> entry : imageBytesByPath.entrySet()) {
+            final String path = entry.getKey();
+            uploadImageBytes(entry.getValue(), path, new StorageCallback() {
+                @Override
+                public void onSuccess(String downloadUrl) {
+                    if (failed[0]) return;
+                    downloadUrls.put(path, downloadUrl);
+                    if (downloadUrls.size() == total) {
+                        callback.onSuccess(downloadUrls);
+                    }
+                }
+                
+                @Override
+                public void onFailure(String error) {
+                    if (failed[0]) return;
+                    failed[0] = true;
+                    callback.onFailure(error);
+                }
+                
+                @Override
+                public void onProgress(double progress) {
+                }
+            });
+        }
+    }
+    
     /**
      * Upload document (Aadhar, PAN, Degree, etc.)
      */
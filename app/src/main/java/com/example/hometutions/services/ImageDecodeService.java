@@ -0,0 +1,131 @@
+package com.example.hometutions.services;
+
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+import androidx.core.graphics.drawable.RoundedBitmapDrawable;
+import androidx.core.graphics.drawable.RoundedBitmapDrawableFactory;
+
+import com.bumptech.glide.Glide;
+import com.example.hometutions.HomeTutionsApplication;
+import com.example.hometutions.utils.BitmapMemoryCache;
+import com.example.hometutions.utils.BlurHash;
+import com.example.hometutions.utils.DiskThumbnailCache;
+
+import java.io.File;
+
+/**
+ * Single entry point for showing profile photos. Values may be Storage URLs
+ * or, for older records, inline Base64 strings; both go through Glide (see
+ * {@link com.example.hometutions.utils.InlineImageModelLoader}), which decodes
+ * off the main thread, samples down to the view size, pools bitmaps, caches in
+ * memory and on disk, and drops the pending request when a view is rebound.
+ * Glide's memory and disk caches are the counting ones owned here.
+ * Records that carry a BlurHash show it blurred in place of the placeholder
+ * until the photo arrives.
+ */
+public class ImageDecodeService {
+
+    // Previews are decoded this small and stretched; a blur needs no more
+    private static final int PREVIEW_PX = 32;
+    private static final int PREVIEW_CACHE_SIZE = 100;
+    private static final String DISK_CACHE_DIR = "image_cache";
+    private static final long DISK_CACHE_BYTES = 50L * 1024 * 1024;
+
+    private static ImageDecodeService instance;
+
+    public static synchronized ImageDecodeService getInstance() {
+        if (instance == null) {
+            instance = new ImageDecodeService();
+        }
+        return instance;
+    }
+
+    // BlurHash -> decoded preview, shared by every card showing the same teacher
+    private final LruCache<String, Bitmap> previews = new LruCache<>(PREVIEW_CACHE_SIZE);
+
+    private final BitmapMemoryCache memoryCache;
+    private final DiskThumbnailCache diskCache; // null without an application context
+
+    private ImageDecodeService() {
+        HomeTutionsApplication application = HomeTutionsApplication.getInstance();
+        memoryCache = new BitmapMemoryCache(application != null ? application.getApplicationContext() : null);
+        diskCache = application != null
+                ? new DiskThumbnailCache(new File(application.getCacheDir(), DISK_CACHE_DIR), DISK_CACHE_BYTES)
+                : null;
+    }
+
+    public BitmapMemoryCache getMemoryCache() {
+        return memoryCache;
+    }
+
+    public DiskThumbnailCache getDiskCache() {
+        return diskCache;
+    }
+
+    public String getCacheStats() {
+        return "memory: " + memoryCache.getStats()
+                + (diskCache != null ? "; disk: " + diskCache.getStats() : "");
+    }
+
+    /**
+     * Show the image in the view. Missing or placeholder ("temp_") values show
+     * the placeholder.
+     */
+    public void load(ImageView view, String data, @DrawableRes int placeholderRes) {
+        load(view, data, null, placeholderRes);
+    }
+
+    /**
+     * Like {@link #load(ImageView, String, int)}, drawing the BlurHash (if any)
+     * while the image loads
+     */
+    public void load(ImageView view, String data, String blurHash, @DrawableRes int placeholderRes) {
+        if (data == null || data.isEmpty() || data.startsWith("temp_")) {
+            cancel(view);
+            view.setImageResource(placeholderRes);
+            return;
+        }
+
+        Drawable preview = preview(view, blurHash);
+        if (preview != null) {
+            Glide.with(view)
+                    .load(data)
+                    .placeholder(preview)
+                    .error(placeholderRes)
+                    .circleCrop()
+                    .into(view);
+        } else {
+            Glide.with(view)
+                    .load(data)
+                    .placeholder(placeholderRes)
+                    .error(placeholderRes)
+                    .circleCrop()
+                    .into(view);
+        }
+    }
+
+    /**
+     * Forget any pending load for the view so a late result is not bound
+     */
+    public void cancel(ImageView view) {
+        Glide.with(view).clear(view);
+    }
+
+    private Drawable preview(ImageView view, String blurHash) {
+        if (blurHash == null || blurHash.isEmpty()) return null;
+        Bitmap bitmap = previews.get(blurHash);
+        if (bitmap == null) {
+            int[] pixels = BlurHash.decode(blurHash, PREVIEW_PX, PREVIEW_PX);
+            if (pixels == null) return null;
+            bitmap = Bitmap.createBitmap(pixels, PREVIEW_PX, PREVIEW_PX, Bitmap.Config.ARGB_8888);
+            previews.put(blurHash, bitmap);
+        }
+        RoundedBitmapDrawable drawable = RoundedBitmapDrawableFactory.create(view.getResources(), bitmap);
+        drawable.setCircular(true);
+        return drawable;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.hometutions.services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Base64;
+import android.util.Log;
+
+import com.example.hometutions.models.Student;
+import com.example.hometutions.models.Teacher;
+import com.example.hometutions.utils.ImageCompressor;
+import com.example.hometutions.utils.InlineImageModelLoader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * One-shot move of images that older app versions stored inline as Base64 in
+ * the realtime database. Each image is re-encoded, uploaded to Storage (with a
+ * thumbnail for profile photos, plus a BlurHash preview for teachers) and the
+ * record field is replaced by its URL.
+ * Database rules only let owners write their own node, so every user migrates
+ * their own record after signing in. Fields that already hold a URL are left
+ * alone, so running it again is harmless.
+ */
+public class ImageMigrationJob {
+    private static final String TAG = "ImageMigrationJob";
+
+    private static final String PREFS_NAME = "image_migration";
+    private static final String KEY_DONE_PREFIX = "migrated_";
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final SharedPreferences preferences;
+    private final FirebaseStorageService storageService;
+    private final ProfileRepository profileRepository;
+
+    public ImageMigrationJob(Context context) {
+        preferences = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        storageService = new FirebaseStorageService();
+        profileRepository = ProfileRepository.getInstance();
+    }
+
+    public void migrateTeacher(String userId, Teacher teacher) {
+        if (teacher == null || isDone(userId)) return;
+        Map<String, String> inlineImages = new HashMap<>();
+        putIfInline(inlineImages, "profileImageUrl", teacher.getProfileImageUrl());
+        putIfInline(inlineImages, "aadharCardUrl", teacher.getAadharCardUrl());
+        putIfInline(inlineImages, "panCardUrl", teacher.getPanCardUrl());
+        putIfInline(inlineImages, "degreeCertificateUrl", teacher.getDegreeCertificateUrl());
+        migrate(userId, userId, inlineImages, "profileImageUrl", true);
+    }
+
+    /**
+     * Older student records may be stored under a key other than the uid
+     * (see {@link StudentKeyResolver}); Storage paths are always per uid
+     */
+    public void migrateStudent(String userId, String studentKey, Student student) {
+        if (student == null || studentKey == null || isDone(userId)) return;
+        Map<String, String> inlineImages = new HashMap<>();
+        putIfInline(inlineImages, "profilePhotoUrl", student.getProfilePhotoUrl());
+        migrate(userId, studentKey, inlineImages, "profilePhotoUrl", false);
+    }
+
+    private void migrate(String userId, String recordKey, Map<String, String> inlineImages, String profileField,
+                         boolean teacher) {
+        if (inlineImages.isEmpty()) {
+            markDone(userId);
+            return;
+        }
+
+        executor.execute(() -> {
+            // Storage path -> record field, so the upload result can be mapped back
+            Map<String, String> fieldsByPath = new HashMap<>();
+            Map<String, byte[]> images = new HashMap<>();
+            String blurHash = null;
+            try {
+                for (Map.Entry<String, String> entry : inlineImages.entrySet()) {
+                    String field = entry.getKey();
+                    byte[] encoded = decodeInline(entry.getValue());
+                    if (field.equals(profileField)) {
+                        byte[] photo = ImageCompressor.compress(encoded,
+                                ImageCompressor.PROFILE_MAX_PX, ImageCompressor.PROFILE_MAX_BYTES);
+                        String photoPath = FirebaseStorageService.profilePhotoPath(userId);
+                        String thumbnailPath = FirebaseStorageService.profileThumbnailPath(userId);
+                        images.put(photoPath, photo);
+                        byte[] thumbnail = ImageCompressor.thumbnail(photo);
+                        images.put(thumbnailPath, thumbnail);
+                        if (teacher) blurHash = ImageCompressor.blurHash(thumbnail);
+                        fieldsByPath.put(photoPath, field);
+                        fieldsByPath.put(thumbnailPath, "profileThumbnailUrl");
+                    } else {
+                        String path = FirebaseStorageService.documentImagePath(userId, documentType(field));
+                        images.put(path, ImageCompressor.compress(encoded,
+                                ImageCompressor.DOCUMENT_MAX_PX, ImageCompressor.DOCUMENT_MAX_BYTES));
+                        fieldsByPath.put(path, field);
+                    }
+                }
+            } catch (Exception | OutOfMemoryError e) {
+                // Leave the record as it is; it is retried on the next start
+                Log.e(TAG, "Failed to prepare inline images of " + userId + ": " + e.getMessage());
+                return;
+            }
+
+            final String profileBlurHash = blurHash;
+            storageService.uploadImages(images, new FirebaseStorageService.ImageSetCallback() {
+                @Override
+                public void onSuccess(Map<String, String> downloadUrls) {
+                    Map<String, Object> updates = new HashMap<>();
+                    for (Map.Entry<String, String> entry : downloadUrls.entrySet()) {
+                        updates.put(fieldsByPath.get(entry.getKey()), entry.getValue());
+                    }
+                    if (profileBlurHash != null) {
+                        updates.put("profileBlurHash", profileBlurHash);
+                    }
+                    FirebaseDatabaseService.DatabaseCallback<Void> callback = new FirebaseDatabaseService.DatabaseCallback<Void>() {
+                        @Override
+                        public void onSuccess(Void result) {
+                            Log.d(TAG, "Moved " + inlineImages.size() + " inline images of " + userId + " to Storage");
+                            markDone(userId);
+                        }
+
+                        @Override
+                        public void onFailure(String error) {
+                            Log.e(TAG, "Failed to save migrated image URLs: " + error);
+                        }
+                    };
+                    if (teacher) {
+                        profileRepository.updateTeacher(recordKey, updates, callback);
+                    } else {
+                        profileRepository.updateStudent(recordKey, updates, callback);
+                    }
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    Log.e(TAG, "Failed to upload inline images of " + userId + ": " + error);
+                }
+            });
+        });
+    }
+
+    private boolean isDone(String userId) {
+        return userId == null || preferences.getBoolean(KEY_DONE_PREFIX + userId, false);
+    }
+
+    private void markDone(String userId) {
+        preferences.edit().putBoolean(KEY_DONE_PREFIX + userId, true).apply();
+    }
+
+    private static void putIfInline(Map<String, String> images, String field, String value) {
+        if (InlineImageModelLoader.isInlineImage(value)) {
+            images.put(field, value);
+        }
+    }
+
+    private static byte[] decodeInline(String data) {
+        String base64 = data.startsWith("data:image") ? data.substring(data.indexOf(',') + 1) : data;
+        return Base64.decode(base64, Base64.DEFAULT);
+    }
+
+    private static String documentType(String field) {
+        switch (field) {
+            case "aadharCardUrl":
+                return "aadhar";
+            case "panCardUrl":
+                return "pan";
+            default:
+                return "degree";
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.hometutions.services;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.hometutions.models.Teacher;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads the /teacherSummaries node one page at a time using key cursors
+ * (orderByKey + startAt + limitToFirst) instead of downloading the whole tree.
+ * Summaries only carry the fields shown on cards; screens that need the full
+ * record (documents, bio) read /teachers/{id} themselves.
+ *
+ * Each page is loaded by a ChildEventListener that stays attached afterwards,
+ * so a page is downloaded once and later edits only re-parse the teacher that
+ * changed; they are reported through {@link ChangeListener}. A value listener
+ * on the same query shares its listen and only marks the end of the initial
+ * children. Pages after the first start at the previous page's last key: a
+ * teacher inserted into a page pushes that page's last key out of its window,
+ * but the next page still watches it, so a teacher is only reported removed
+ * once no page holds it. The last page keeps room for new teachers.
+ */
+public class PagedTeacherSource {
+    private static final String TAG = "PagedTeacherSource";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final DatabaseReference summariesRef;
+    private final int pageSize;
+
+    // Teachers loaded so far, keyed and ordered like the database
+    private final TreeMap<String, Teacher> teachers = new TreeMap<>();
+    // Number of page windows currently holding each teacher
+    private final Map<String, Integer> windowCounts = new HashMap<>();
+
+    private final List<Query> watchedQueries = new ArrayList<>();
+    private final List<ChildEventListener> watchers = new ArrayList<>();
+
+    private String lastKey;
+    private boolean loading;
+    private boolean endReached;
+    private int generation; // bumped by reset() to drop responses for an old cursor
+    private ChangeListener changeListener;
+
+    public interface PageCallback {
+        void onPageLoaded(List<Teacher> page, boolean hasMore);
+        void onFailure(String error);
+    }
+
+    /**
+     * Incremental updates for teachers that were already delivered in a page
+     */
+    public interface ChangeListener {
+        void onTeacherAdded(Teacher teacher);
+        void onTeacherChanged(Teacher teacher);
+        void onTeacherRemoved(String teacherId);
+    }
+
+    public PagedTeacherSource() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    public PagedTeacherSource(int pageSize) {
+        this.summariesRef = FirebaseDatabase.getInstance().getReference().child("teacherSummaries");
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    public void setChangeListener(@Nullable ChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public boolean hasMore() {
+        return !endReached;
+    }
+
+    /**
+     * Key of the last teacher loaded so far, or null before the first page
+     */
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Detach all live listeners and start again from the first page
+     */
+    public void reset() {
+        stop();
+        teachers.clear();
+        lastKey = null;
+        loading = false;
+        endReached = false;
+        generation++;
+    }
+
+    /**
+     * Detach the live listeners, keeping what was loaded
+     */
+    public void stop() {
+        for (int i = 0; i < watchedQueries.size(); i++) {
+            watchedQueries.get(i).removeEventListener(watchers.get(i));
+        }
+        watchedQueries.clear();
+        watchers.clear();
+        windowCounts.clear();
+    }
+
+    /**
+     * Fetch the page after the current cursor.
+     * Returns false without doing anything if a page is already loading or the end was reached.
+     */
+    public boolean loadNextPage(PageCallback callback) {
+        if (loading || endReached) return false;
+        loading = true;
+
+        final String pageStart = lastKey;
+        Query query = summariesRef.orderByKey();
+        int windowSize = pageSize;
+        if (pageStart != null) {
+            // Overlap the previous page by its last key, see the class comment
+            query = query.startAt(pageStart);
+            windowSize++;
+        }
+        final Query pageQuery = query.limitToFirst(windowSize);
+        final int pageWindowSize = windowSize;
+        final int requestGeneration = generation;
+
+        final PageWatcher watcher = new PageWatcher();
+        pageQuery.addChildEventListener(watcher);
+        watchedQueries.add(pageQuery);
+        watchers.add(watcher);
+
+        // Raised after the watcher's initial child events, from the same download
+        pageQuery.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                // Ignore responses that belong to a cursor discarded by reset()
+                if (requestGeneration != generation) return;
+
+                String pageEnd = pageStart;
+                for (DataSnapshot child : dataSnapshot.getChildren()) {
+                    pageEnd = child.getKey();
+                }
+                lastKey = pageEnd;
+                endReached = dataSnapshot.getChildrenCount() < pageWindowSize;
+                loading = false;
+
+                List<Teacher> page = watcher.finishInitialLoad();
+                Log.d(TAG, "Loaded page of " + page.size() + " teachers, more: " + !endReached);
+                callback.onPageLoaded(page, !endReached);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                if (requestGeneration != generation) return;
+                loading = false;
+                pageQuery.removeEventListener(watcher);
+                watchedQueries.remove(pageQuery);
+                watchers.remove(watcher);
+                Log.e(TAG, "Error loading teachers page: " + databaseError.getMessage());
+                callback.onFailure(databaseError.getMessage());
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Collects a page's teachers until it is loaded, then reports changes to them
+     */
+    private class PageWatcher implements ChildEventListener {
+        private List<Teacher> initialPage = new ArrayList<>(); // null once the page was delivered
+
+        List<Teacher> finishInitialLoad() {
+            List<Teacher> page = initialPage;
+            initialPage = null;
+            return page;
+        }
+
+        @Override
+        public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+            String key = snapshot.getKey();
+            Integer count = windowCounts.get(key);
+            windowCounts.put(key, count != null ? count + 1 : 1);
+            // Already delivered (and kept current) by a neighbouring page
+            if (teachers.containsKey(key)) return;
+
+            Teacher teacher = parse(snapshot);
+            if (teacher == null) return;
+            if (initialPage != null) {
+                initialPage.add(teacher);
+            } else if (changeListener != null) {
+                changeListener.onTeacherAdded(teacher);
+            }
+        }
+
+        @Override
+        public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+            Teacher teacher = parse(snapshot);
+            if (teacher != null && initialPage == null && changeListener != null) {
+                changeListener.onTeacherChanged(teacher);
+            }
+        }
+
+        @Override
+        public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+            String key = snapshot.getKey();
+            Integer count = windowCounts.get(key);
+            if (count != null && count > 1) {
+                windowCounts.put(key, count - 1);
+                return;
+            }
+            windowCounts.remove(key);
+            if (teachers.remove(key) != null && initialPage == null && changeListener != null) {
+                changeListener.onTeacherRemoved(key);
+            }
+        }
+
+        @Override
+        public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+            // Ordered by key, children never move
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            Log.e(TAG, "Teacher sync cancelled: " + error.getMessage());
+        }
+    }
+
+    private Teacher parse(DataSnapshot snapshot) {
+        String key = snapshot.getKey();
+        Teacher teacher = TeacherMapper.fromSnapshot(snapshot);
+        if (teacher == null) {
+            Log.e(TAG, "Failed to parse teacher data for: " + key);
+            return null;
+        }
+        teachers.put(key, teacher);
+        return teacher;
+    }
+}
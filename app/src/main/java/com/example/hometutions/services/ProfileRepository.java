@@ -0,0 +1,214 @@
+package com.example.hometutions.services;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.hometutions.models.Student;
+import com.example.hometutions.models.Teacher;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads of single profile records (students/{uid}, teachers/{uid}) shared by
+ * every screen. Concurrent reads of the same path wait for one request, and
+ * results are kept for {@link #TTL_MS} so switching tabs or reopening a profile
+ * does not go back to the network. Writes go through here as well (delegating
+ * to {@link FirebaseDatabaseService}) and drop the cached copy of the path they
+ * change. Called on the main thread, like the Firebase callbacks it relies on.
+ */
+public class ProfileRepository {
+    private static final String TAG = "ProfileRepository";
+
+    private static final long TTL_MS = 2 * 60 * 1000;
+
+    private static ProfileRepository instance;
+
+    public static synchronized ProfileRepository getInstance() {
+        if (instance == null) {
+            instance = new ProfileRepository();
+        }
+        return instance;
+    }
+
+    private static class CachedSnapshot {
+        final DataSnapshot snapshot;
+        final long fetchedAt;
+
+        CachedSnapshot(DataSnapshot snapshot, long fetchedAt) {
+            this.snapshot = snapshot;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    private final DatabaseReference rootRef;
+    private final FirebaseDatabaseService databaseService;
+    private final Map<String, CachedSnapshot> cache = new HashMap<>();
+    private final Map<String, List<ValueEventListener>> inFlight = new HashMap<>();
+    // Bumped by every write to a path; a read that raced with a write is not cached
+    private final Map<String, Integer> versions = new HashMap<>();
+
+    private ProfileRepository() {
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        databaseService = new FirebaseDatabaseService();
+    }
+
+    public static String studentPath(String userId) {
+        return "students/" + userId;
+    }
+
+    public static String teacherPath(String userId) {
+        return "teachers/" + userId;
+    }
+
+    /**
+     * Deliver the record at path to the listener, from the cache while it is
+     * fresh, otherwise joining a read already in progress or starting one
+     */
+    public void read(String path, ValueEventListener listener) {
+        CachedSnapshot cached = cache.get(path);
+        if (cached != null && SystemClock.elapsedRealtime() - cached.fetchedAt < TTL_MS) {
+            listener.onDataChange(cached.snapshot);
+            return;
+        }
+
+        List<ValueEventListener> waiting = inFlight.get(path);
+        if (waiting != null) {
+            waiting.add(listener);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(listener);
+        inFlight.put(path, waiting);
+
+        final int version = version(path);
+        rootRef.child(path).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                if (version == version(path)) {
+                    cache.put(path, new CachedSnapshot(dataSnapshot, SystemClock.elapsedRealtime()));
+                }
+                List<ValueEventListener> listeners = inFlight.remove(path);
+                Log.d(TAG, "Read " + path + " for " + listeners.size() + " listeners");
+                for (ValueEventListener waiter : listeners) {
+                    waiter.onDataChange(dataSnapshot);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                for (ValueEventListener waiter : inFlight.remove(path)) {
+                    waiter.onCancelled(databaseError);
+                }
+            }
+        });
+    }
+
+    public void getTeacher(String userId, FirebaseDatabaseService.DatabaseCallback<Teacher> callback) {
+        read(teacherPath(userId), new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                Teacher teacher = TeacherMapper.fromSnapshot(dataSnapshot);
+                if (teacher != null) {
+                    callback.onSuccess(teacher);
+                } else {
+                    callback.onFailure("Teacher not found");
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                callback.onFailure("Failed to get teacher: " + databaseError.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Drop the cached copy of path, of the records below it and of the nodes containing it
+     */
+    public void invalidate(String path) {
+        versions.put(path, version(path) + 1);
+        for (Iterator<String> keys = cache.keySet().iterator(); keys.hasNext(); ) {
+            String key = keys.next();
+            if (key.equals(path) || key.startsWith(path + "/") || path.startsWith(key + "/")) {
+                keys.remove();
+            }
+        }
+    }
+
+    // Writes, each invalidating the record it changes
+
+    public void createStudent(Student student, FirebaseDatabaseService.DatabaseCallback<Void> callback) {
+        String path = studentPath(student.getUserId());
+        invalidate(path);
+        databaseService.createStudent(student, invalidating(path, callback));
+    }
+
+    public void updateStudent(String userId, Map<String, Object> updates,
+                              FirebaseDatabaseService.DatabaseCallback<Void> callback) {
+        String path = studentPath(userId);
+        invalidate(path);
+        databaseService.updateStudent(userId, updates, invalidating(path, callback));
+    }
+
+    public void deleteStudent(String userId, FirebaseDatabaseService.DatabaseCallback<Void> callback) {
+        String path = studentPath(userId);
+        invalidate(path);
+        databaseService.deleteStudent(userId, invalidating(path, callback));
+    }
+
+    public void createTeacher(Teacher teacher, FirebaseDatabaseService.DatabaseCallback<Void> callback) {
+        String path = teacherPath(teacher.getUserId());
+        invalidate(path);
+        databaseService.createTeacher(teacher, invalidating(path, callback));
+    }
+
+    public void updateTeacher(String userId, Map<String, Object> updates,
+                              FirebaseDatabaseService.DatabaseCallback<Void> callback) {
+        String path = teacherPath(userId);
+        invalidate(path);
+        databaseService.updateTeacher(userId, updates, invalidating(path, callback));
+    }
+
+    public void deleteTeacher(String userId, FirebaseDatabaseService.DatabaseCallback<Void> callback) {
+        String path = teacherPath(userId);
+        invalidate(path);
+        databaseService.deleteTeacher(userId, invalidating(path, callback));
+    }
+
+    /**
+     * Invalidate the path again once the write has landed, so reads made while
+     * it was pending are not served afterwards
+     */
+    private FirebaseDatabaseService.DatabaseCallback<Void> invalidating(
+            String path, FirebaseDatabaseService.DatabaseCallback<Void> callback) {
+        return new FirebaseDatabaseService.DatabaseCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                invalidate(path);
+                callback.onSuccess(result);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                invalidate(path);
+                callback.onFailure(error);
+            }
+        };
+    }
+
+    private int version(String path) {
+        Integer version = versions.get(path);
+        return version != null ? version : 0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.hometutions.services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+/**
+ * Finds the key of the signed-in student's record under /students. New
+ * records are keyed by the auth uid, but some older ones were stored under
+ * other keys, so studentKeys/{uid} maps every uid to its record key.
+ * Resolution is a local lookup after the first time, and a single keyed read
+ * before that. A student missing from the map is looked up once by the
+ * userId and email fields (indexed queries, never a scan of /students), and
+ * the result is written to the map.
+ */
+public class StudentKeyResolver {
+    private static final String TAG = "StudentKeyResolver";
+
+    private static final String PREFS_NAME = "student_keys";
+
+    private static StudentKeyResolver instance;
+
+    public static synchronized StudentKeyResolver getInstance(Context context) {
+        if (instance == null) {
+            instance = new StudentKeyResolver(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final SharedPreferences preferences;
+    private final DatabaseReference studentsRef;
+    private final DatabaseReference studentKeysRef;
+
+    private StudentKeyResolver(Context context) {
+        preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        DatabaseReference rootRef = FirebaseDatabase.getInstance().getReference();
+        studentsRef = rootRef.child("students");
+        studentKeysRef = rootRef.child("studentKeys");
+    }
+
+    /**
+     * Deliver the record key of the student with this uid, or fail if they have no record
+     */
+    public void resolve(String uid, String email, FirebaseDatabaseService.DatabaseCallback<String> callback) {
+        String cached = preferences.getString(uid, null);
+        if (cached != null) {
+            callback.onSuccess(cached);
+            return;
+        }
+
+        studentKeysRef.child(uid).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                Object key = dataSnapshot.getValue();
+                if (key != null) {
+                    remember(uid, String.valueOf(key));
+                    callback.onSuccess(String.valueOf(key));
+                } else {
+                    migrate(uid, email, callback);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                callback.onFailure("Failed to resolve student: " + databaseError.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Forget the cached key, e.g. when no record exists under it any more
+     */
+    public void forget(String uid) {
+        preferences.edit().remove(uid).apply();
+    }
+
+    /**
+     * One-time lookup for a student written before studentKeys existed
+     */
+    private void migrate(String uid, String email, FirebaseDatabaseService.DatabaseCallback<String> callback) {
+        studentsRef.child(uid).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                if (dataSnapshot.exists()) {
+                    found(uid, uid, callback);
+                    return;
+                }
+                findFirst(studentsRef.orderByChild("userId").equalTo(uid), uid, callback, () -> {
+                    if (email == null) {
+                        callback.onFailure("Student not found");
+                        return;
+                    }
+                    findFirst(studentsRef.orderByChild("email").equalTo(email), uid, callback,
+                            () -> callback.onFailure("Student not found"));
+                });
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                callback.onFailure("Failed to resolve student: " + databaseError.getMessage());
+            }
+        });
+    }
+
+    private void findFirst(Query query, String uid, FirebaseDatabaseService.DatabaseCallback<String> callback,
+                           Runnable notFound) {
+        query.limitToFirst(1).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                for (DataSnapshot child : dataSnapshot.getChildren()) {
+                    found(uid, child.getKey(), callback);
+                    return;
+                }
+                notFound.run();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError databaseError) {
+                callback.onFailure("Failed to resolve student: " + databaseError.getMessage());
+            }
+        });
+    }
+
+    private void found(String uid, String key, FirebaseDatabaseService.DatabaseCallback<String> callback) {
+        Log.d(TAG, "Mapped student " + uid + " to record " + key);
+        studentKeysRef.child(uid).setValue(key)
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to save student key mapping", e));
+        remember(uid, key);
+        callback.onSuccess(key);
+    }
+
+    private void remember(String uid, String key) {
+        preferences.edit().putString(uid, key).apply();
+    }
+}
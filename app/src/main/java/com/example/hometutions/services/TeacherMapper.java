@@ -0,0 +1,172 @@
+package com.example.hometutions.services;
+
+import android.text.TextUtils;
+
+import com.example.hometutions.models.Teacher;
+import com.google.firebase.database.DataSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link Teacher} objects from /teachers and /teacherSummaries records
+ * without the reflective bean mapping behind DataSnapshot.getValue(Teacher.class).
+ * Each field of the record is visited once and set directly. Numbers stored
+ * where text is expected (and the reverse) are converted instead of failing
+ * the whole record, and the duplicated legacy fields are filled from each
+ * other so callers can read either one.
+ */
+public final class TeacherMapper {
+
+    private TeacherMapper() {
+    }
+
+    /**
+     * The teacher in the snapshot with its key as id, or null if it is not a record
+     */
+    public static Teacher fromSnapshot(DataSnapshot snapshot) {
+        return fromValue(snapshot.getKey(), snapshot.getValue());
+    }
+
+    /**
+     * Same as {@link #fromSnapshot} for the raw value of a snapshot
+     */
+    public static Teacher fromValue(String key, Object value) {
+        if (!(value instanceof Map)) return null;
+
+        Teacher teacher = new Teacher();
+        for (Map.Entry<?, ?> field : ((Map<?, ?>) value).entrySet()) {
+            Object v = field.getValue();
+            switch (String.valueOf(field.getKey())) {
+                case "id": teacher.setId(asString(v)); break;
+                case "userId": teacher.setUserId(asString(v)); break;
+                case "fullName": teacher.setFullName(asString(v)); break;
+                case "email": teacher.setEmail(asString(v)); break;
+                case "phone": teacher.setPhone(asString(v)); break;
+                case "phoneNumber": teacher.setPhoneNumber(asString(v)); break;
+                case "address": teacher.setAddress(asString(v)); break;
+                case "location": teacher.setLocation(asString(v)); break;
+                case "subjects": teacher.setSubjects(asString(v)); break;
+                case "subjectsTaught": teacher.setSubjectsTaught(asStringList(v)); break;
+                case "teachingStreams": teacher.setTeachingStreams(asStringList(v)); break;
+                case "experience": teacher.setExperience(v); break;
+                case "yearsOfExperience": teacher.setYearsOfExperience(asInt(v)); break;
+                case "qualification": teacher.setQualification(asString(v)); break;
+                case "highestQualification": teacher.setHighestQualification(asString(v)); break;
+                case "institution": teacher.setInstitution(asString(v)); break;
+                case "hourlyRate": teacher.setHourlyRate(v); break;
+                case "rating": teacher.setRating(asString(v)); break;
+                case "profileImageUrl": teacher.setProfileImageUrl(asString(v)); break;
+                case "profileThumbnailUrl": teacher.setProfileThumbnailUrl(asString(v)); break;
+                case "profileBlurHash": teacher.setProfileBlurHash(asString(v)); break;
+                case "bio": teacher.setBio(asString(v)); break;
+                case "verified":
+                case "isVerified": teacher.setVerified(asBoolean(v)); break;
+                case "availability": teacher.setAvailability(asString(v)); break;
+                case "age": teacher.setAge(asInt(v)); break;
+                case "gender": teacher.setGender(asString(v)); break;
+                case "aadharCardUrl": teacher.setAadharCardUrl(asString(v)); break;
+                case "panCardUrl": teacher.setPanCardUrl(asString(v)); break;
+                case "degreeCertificateUrl": teacher.setDegreeCertificateUrl(asString(v)); break;
+                case "documentsVerified": teacher.setDocumentsVerified(asBoolean(v)); break;
+                case "aadhar_image": teacher.setAadhar_image(asString(v)); break;
+                case "pan_image": teacher.setPan_image(asString(v)); break;
+                case "degree_image": teacher.setDegree_image(asString(v)); break;
+                case "userType": teacher.setUserType(asString(v)); break;
+                case "createdAt": teacher.setCreatedAt(v); break;
+                case "latitude": teacher.setLatitude(asDouble(v)); break;
+                case "longitude": teacher.setLongitude(asDouble(v)); break;
+                default: break; // unknown fields are ignored, like getValue(Teacher.class) does
+            }
+        }
+        if (key != null) teacher.setId(key);
+        normalizeLegacyFields(teacher);
+        return teacher;
+    }
+
+    /**
+     * Older app versions wrote some fields under other names or formats; fill
+     * whichever of each pair is missing from the other
+     */
+    private static void normalizeLegacyFields(Teacher teacher) {
+        if (isEmpty(teacher.getPhoneNumber())) teacher.setPhoneNumber(teacher.getPhone());
+        if (isEmpty(teacher.getPhone())) teacher.setPhone(teacher.getPhoneNumber());
+        if (isEmpty(teacher.getHighestQualification())) teacher.setHighestQualification(teacher.getQualification());
+        if (isEmpty(teacher.getQualification())) teacher.setQualification(teacher.getHighestQualification());
+        if (isEmpty(teacher.getAddress())) teacher.setAddress(teacher.getLocation());
+        if (isEmpty(teacher.getLocation())) teacher.setLocation(teacher.getAddress());
+
+        List<String> subjectsTaught = teacher.getSubjectsTaught();
+        if ((subjectsTaught == null || subjectsTaught.isEmpty()) && !isEmpty(teacher.getSubjects())) {
+            List<String> subjects = new ArrayList<>();
+            for (String subject : teacher.getSubjects().split(",")) {
+                if (!subject.trim().isEmpty()) subjects.add(subject.trim());
+            }
+            teacher.setSubjectsTaught(subjects);
+        } else if (subjectsTaught != null && !subjectsTaught.isEmpty() && isEmpty(teacher.getSubjects())) {
+            teacher.setSubjects(TextUtils.join(", ", subjectsTaught));
+        }
+
+        // getExperience() reports "0" when the field is missing
+        int experienceYears = (int) asDouble(teacher.getExperience(), 0);
+        if (teacher.getYearsOfExperience() == 0 && experienceYears > 0) {
+            teacher.setYearsOfExperience(experienceYears);
+        } else if (experienceYears == 0 && teacher.getYearsOfExperience() > 0) {
+            teacher.setExperience((long) teacher.getYearsOfExperience());
+        }
+
+        if (isEmpty(teacher.getAadharCardUrl())) teacher.setAadharCardUrl(teacher.getAadhar_image());
+        if (isEmpty(teacher.getPanCardUrl())) teacher.setPanCardUrl(teacher.getPan_image());
+        if (isEmpty(teacher.getDegreeCertificateUrl())) teacher.setDegreeCertificateUrl(teacher.getDegree_image());
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String asString(Object value) {
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    private static int asInt(Object value) {
+        return (int) asDouble(value, 0);
+    }
+
+    private static Double asDouble(Object value) {
+        if (value == null) return null;
+        double parsed = asDouble(value, Double.NaN);
+        return Double.isNaN(parsed) ? null : parsed;
+    }
+
+    private static double asDouble(Object value, double fallback) {
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        if (value == null) return fallback;
+        try {
+            return Double.parseDouble(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static boolean asBoolean(Object value) {
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    private static List<String> asStringList(Object value) {
+        Iterable<?> items;
+        if (value instanceof List) {
+            items = (List<?>) value;
+        } else if (value instanceof Map) {
+            // Firebase returns sparse arrays as maps keyed by index
+            items = ((Map<?, ?>) value).values();
+        } else {
+            return null;
+        }
+        List<String> strings = new ArrayList<>();
+        for (Object item : items) {
+            if (item != null) strings.add(String.valueOf(item));
+        }
+        return strings;
+    }
+}
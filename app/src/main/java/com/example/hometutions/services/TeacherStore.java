@@ -0,0 +1,266 @@
+package com.example.hometutions.services;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.hometutions.models.Teacher;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * On-device copy of the teacher summaries the dashboard has seen, so it can
+ * render the last known list immediately while the network catches up
+ * (stale-while-revalidate). Teachers are kept in memory ordered by key like
+ * /teacherSummaries, and written to a JSON file in the app's files directory
+ * shortly after they change. Disk work runs on a single background thread;
+ * everything else is called on the main thread.
+ */
+public class TeacherStore {
+    private static final String TAG = "TeacherStore";
+
+    private static final String FILE_NAME = "teacher_summaries.json";
+    private static final int VERSION = 1;
+    private static final long SAVE_DELAY_MS = 1000; // coalesce the writes of a burst of pages
+
+    public interface LoadCallback {
+        void onLoaded(List<Teacher> teachers);
+    }
+
+    private static TeacherStore instance;
+
+    public static synchronized TeacherStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new TeacherStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final File file;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable saveTask = this::save;
+
+    private final TreeMap<String, Teacher> teachers = new TreeMap<>();
+    private boolean loaded;
+    private final List<LoadCallback> pendingLoads = new ArrayList<>();
+
+    private TeacherStore(Context context) {
+        file = new File(context.getFilesDir(), FILE_NAME);
+    }
+
+    /**
+     * Deliver the stored teachers on the main thread, reading the file the first time
+     */
+    public void load(LoadCallback callback) {
+        if (loaded) {
+            callback.onLoaded(new ArrayList<>(teachers.values()));
+            return;
+        }
+        pendingLoads.add(callback);
+        if (pendingLoads.size() > 1) return;
+
+        diskExecutor.execute(() -> {
+            long startedAt = SystemClock.elapsedRealtime();
+            List<Teacher> restored = read();
+            Log.d(TAG, "Restored " + restored.size() + " teachers in "
+                    + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+            mainHandler.post(() -> {
+                // Teachers stored while the file was being read are newer
+                for (Teacher teacher : restored) {
+                    if (!teachers.containsKey(teacher.getId())) teachers.put(teacher.getId(), teacher);
+                }
+                loaded = true;
+                List<Teacher> snapshot = new ArrayList<>(teachers.values());
+                for (LoadCallback pending : pendingLoads) pending.onLoaded(snapshot);
+                pendingLoads.clear();
+            });
+        });
+    }
+
+    public void put(Teacher teacher) {
+        if (teacher.getId() == null) return;
+        teachers.put(teacher.getId(), teacher);
+        scheduleSave();
+    }
+
+    public void remove(String teacherId) {
+        if (teachers.remove(teacherId) != null) scheduleSave();
+    }
+
+    /**
+     * Replace the stored teachers with keys after afterKey (null for the first
+     * page) by a freshly loaded page. Stored teachers past the page are dropped
+     * too, since nothing has revalidated them; later pages put them back.
+     * Returns the ids that were dropped.
+     */
+    public List<String> replaceAfter(String afterKey, Collection<Teacher> page) {
+        Map<String, Teacher> range = afterKey == null ? teachers : teachers.tailMap(afterKey, false);
+
+        Set<String> pageIds = new HashSet<>();
+        for (Teacher teacher : page) pageIds.add(teacher.getId());
+        List<String> removed = new ArrayList<>();
+        for (Iterator<String> keys = range.keySet().iterator(); keys.hasNext(); ) {
+            String key = keys.next();
+            if (!pageIds.contains(key)) {
+                keys.remove();
+                removed.add(key);
+            }
+        }
+        for (Teacher teacher : page) {
+            if (teacher.getId() != null) teachers.put(teacher.getId(), teacher);
+        }
+        scheduleSave();
+        return removed;
+    }
+
+    private void scheduleSave() {
+        mainHandler.removeCallbacks(saveTask);
+        mainHandler.postDelayed(saveTask, SAVE_DELAY_MS);
+    }
+
+    private void save() {
+        final List<Teacher> snapshot = new ArrayList<>(teachers.values());
+        diskExecutor.execute(() -> write(snapshot));
+    }
+
+    private List<Teacher> read() {
+        List<Teacher> restored = new ArrayList<>();
+        if (!file.exists()) return restored;
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                int count = in.read(bytes, read, bytes.length - read);
+                if (count < 0) break;
+                read += count;
+            }
+            JSONObject root = new JSONObject(new String(bytes, 0, read, StandardCharsets.UTF_8));
+            if (root.optInt("version") != VERSION) return restored;
+            JSONArray items = root.getJSONArray("teachers");
+            for (int i = 0; i < items.length(); i++) {
+                restored.add(fromJson(items.getJSONObject(i)));
+            }
+        } catch (IOException | JSONException e) {
+            // A damaged file only costs the head start; the network fills the list
+            Log.e(TAG, "Failed to read stored teachers: " + e.getMessage());
+            restored.clear();
+        }
+        return restored;
+    }
+
+    private void write(List<Teacher> snapshot) {
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            JSONArray items = new JSONArray();
+            for (Teacher teacher : snapshot) items.put(toJson(teacher));
+            JSONObject root = new JSONObject();
+            root.put("version", VERSION);
+            root.put("teachers", items);
+            try (OutputStream out = new FileOutputStream(temp)) {
+                out.write(root.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            // Replace the old file only once the new one is complete
+            if (!temp.renameTo(file)) {
+                throw new IOException("Failed to replace " + file.getName());
+            }
+            Log.d(TAG, "Stored " + snapshot.size() + " teachers");
+        } catch (IOException | JSONException e) {
+            Log.e(TAG, "Failed to store teachers: " + e.getMessage());
+            temp.delete();
+        }
+    }
+
+    // The fields of a teacher summary, see FirebaseDatabaseService
+    private static JSONObject toJson(Teacher teacher) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("id", teacher.getId());
+        json.putOpt("userId", teacher.getUserId());
+        json.putOpt("fullName", teacher.getFullName());
+        json.putOpt("gender", teacher.getGender());
+        json.putOpt("highestQualification", teacher.getHighestQualification());
+        json.putOpt("qualification", teacher.getQualification());
+        json.putOpt("institution", teacher.getInstitution());
+        json.put("yearsOfExperience", teacher.getYearsOfExperience());
+        json.putOpt("experience", teacher.getExperience());
+        json.putOpt("subjectsTaught", toJsonArray(teacher.getSubjectsTaught()));
+        json.putOpt("subjects", teacher.getSubjects());
+        json.putOpt("teachingStreams", toJsonArray(teacher.getTeachingStreams()));
+        json.putOpt("address", teacher.getAddress());
+        json.putOpt("location", teacher.getLocation());
+        json.putOpt("rating", teacher.getRating());
+        json.putOpt("hourlyRate", teacher.getHourlyRate());
+        json.putOpt("availability", teacher.getAvailability());
+        json.putOpt("profileImageUrl", teacher.getProfileImageUrl());
+        json.putOpt("profileThumbnailUrl", teacher.getProfileThumbnailUrl());
+        json.putOpt("profileBlurHash", teacher.getProfileBlurHash());
+        json.putOpt("latitude", teacher.getLatitude());
+        json.putOpt("longitude", teacher.getLongitude());
+        return json;
+    }
+
+    private static Teacher fromJson(JSONObject json) {
+        Teacher teacher = new Teacher();
+        teacher.setId(json.optString("id", null));
+        teacher.setUserId(json.optString("userId", null));
+        teacher.setFullName(json.optString("fullName", null));
+        teacher.setGender(json.optString("gender", null));
+        teacher.setHighestQualification(json.optString("highestQualification", null));
+        teacher.setQualification(json.optString("qualification", null));
+        teacher.setInstitution(json.optString("institution", null));
+        teacher.setYearsOfExperience(json.optInt("yearsOfExperience"));
+        teacher.setExperience(json.opt("experience"));
+        teacher.setSubjectsTaught(fromJsonArray(json.optJSONArray("subjectsTaught")));
+        teacher.setSubjects(json.optString("subjects", null));
+        teacher.setTeachingStreams(fromJsonArray(json.optJSONArray("teachingStreams")));
+        teacher.setAddress(json.optString("address", null));
+        teacher.setLocation(json.optString("location", null));
+        teacher.setRating(json.optString("rating", null));
+        teacher.setHourlyRate(json.opt("hourlyRate"));
+        teacher.setAvailability(json.optString("availability", null));
+        teacher.setProfileImageUrl(json.optString("profileImageUrl", null));
+        teacher.setProfileThumbnailUrl(json.optString("profileThumbnailUrl", null));
+        teacher.setProfileBlurHash(json.optString("profileBlurHash", null));
+        teacher.setLatitude(json.has("latitude") ? json.optDouble("latitude") : null);
+        teacher.setLongitude(json.has("longitude") ? json.optDouble("longitude") : null);
+        return teacher;
+    }
+
+    private static JSONArray toJsonArray(List<String> values) {
+        if (values == null) return null;
+        JSONArray array = new JSONArray();
+        for (String value : values) array.put(value);
+        return array;
+    }
+
+    private static List<String> fromJsonArray(JSONArray array) {
+        if (array == null) return null;
+        List<String> values = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            values.add(array.isNull(i) ? null : array.optString(i));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.hometutions.services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.firebase.auth.FirebaseUser;
+
+/**
+ * Runs {@link FirebaseDatabaseService#backfillAllTeacherEntries} once, when an
+ * account with the admin custom claim signs in. Teachers also backfill their
+ * own entries after signing in, but teachers who never sign in again would
+ * otherwise be missing from the dashboard and search. The rules only let
+ * admins list /teachers, so for everyone else this does nothing.
+ */
+public class TeacherSummaryBackfillJob {
+    private static final String TAG = "TeacherSummaryBackfill";
+
+    private static final String PREFS_NAME = "teacher_summary_backfill";
+    private static final String KEY_DONE = "done";
+    private static final String ADMIN_CLAIM = "admin";
+
+    private final SharedPreferences preferences;
+
+    public TeacherSummaryBackfillJob(Context context) {
+        preferences = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public void runIfAdmin(FirebaseUser user) {
+        if (user == null || preferences.getBoolean(KEY_DONE, false)) return;
+        user.getIdToken(false).addOnSuccessListener(result -> {
+            if (!Boolean.TRUE.equals(result.getClaims().get(ADMIN_CLAIM))) return;
+            new FirebaseDatabaseService().backfillAllTeacherEntries(new FirebaseDatabaseService.DatabaseCallback<Integer>() {
+                @Override
+                public void onSuccess(Integer written) {
+                    Log.d(TAG, "Teacher summaries complete, " + written + " written");
+                    preferences.edit().putBoolean(KEY_DONE, true).apply();
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    // Retried on the next sign-in
+                    Log.e(TAG, "Teacher summary backfill failed: " + error);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hometutions.utils;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+
+/**
+ * Glide's memory cache of decoded images, bounded in bytes with a budget of a
+ * fraction of the app's memory class, with hit, miss and eviction counters.
+ * Glide only asks it for images that are not on screen right now, so the
+ * counters describe photos coming back into view. Installed by
+ * {@link com.example.hometutions.HomeTutionsGlideModule}.
+ */
+public class BitmapMemoryCache extends LruResourceCache {
+    private static final String TAG = "BitmapMemoryCache";
+
+    private static final int MEMORY_FRACTION = 8; // use 1/8 of the memory class
+    private static final long FALLBACK_BUDGET_BYTES = 8L * 1024 * 1024;
+
+    // Guarded by the cache's own lock
+    private int hits;
+    private int misses;
+    private int evictions;
+
+    public BitmapMemoryCache(Context context) {
+        this(budgetBytes(context));
+    }
+
+    public BitmapMemoryCache(long maxBytes) {
+        super(Math.max(1, maxBytes));
+        Log.d(TAG, "Bitmap cache budget: " + maxBytes / 1024 + " KB");
+    }
+
+    /**
+     * Glide's lookup: a cached image is taken out while it is displayed
+     */
+    @Nullable
+    @Override
+    public synchronized Resource<?> remove(@NonNull Key key) {
+        Resource<?> resource = super.remove(key);
+        if (resource != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return resource;
+    }
+
+    @Override
+    protected void onItemEvicted(@NonNull Key key, @Nullable Resource<?> item) {
+        evictions++;
+        super.onItemEvicted(key, item);
+    }
+
+    /**
+     * Decoded images can always be decoded again
+     */
+    @Override
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            clearMemory();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            trimToSize(getMaxSize() / 2);
+        }
+    }
+
+    public synchronized int hitCount() {
+        return hits;
+    }
+
+    public synchronized int missCount() {
+        return misses;
+    }
+
+    public synchronized int evictionCount() {
+        return evictions;
+    }
+
+    public synchronized String getStats() {
+        return "size=" + getCurrentSize() / 1024 + "/" + getMaxSize() / 1024 + " KB, hits=" + hits
+                + ", misses=" + misses + ", evictions=" + evictions;
+    }
+
+    private static long budgetBytes(Context context) {
+        ActivityManager activityManager = context != null
+                ? (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE) : null;
+        if (activityManager == null) return FALLBACK_BUDGET_BYTES;
+        return activityManager.getMemoryClass() * 1024L * 1024 / MEMORY_FRACTION;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.hometutions.utils;
+
+/**
+ * Encoder and decoder for BlurHash strings (https://blurha.sh), a 20-30
+ * character description of an image's colours that can be stored on a record
+ * and drawn as a blurred preview before the real image has loaded.
+ * Works on ARGB pixel arrays so it has no Android dependencies.
+ */
+public class BlurHash {
+
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private BlurHash() {
+    }
+
+    /**
+     * Encode the pixels with componentsX by componentsY cosine components (1-9 each)
+     */
+    public static String encode(int[] pixels, int width, int height, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("Components must be between 1 and 9");
+        }
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("Not enough pixels for " + width + "x" + height);
+        }
+
+        double[] linear = new double[width * height * 3];
+        for (int i = 0; i < width * height; i++) {
+            int pixel = pixels[i];
+            linear[i * 3] = srgbToLinear((pixel >> 16) & 0xFF);
+            linear[i * 3 + 1] = srgbToLinear((pixel >> 8) & 0xFF);
+            linear[i * 3 + 2] = srgbToLinear(pixel & 0xFF);
+        }
+        double[][] cosX = cosines(componentsX, width);
+        double[][] cosY = cosines(componentsY, height);
+
+        double[][] factors = new double[componentsX * componentsY][3];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                double r = 0, g = 0, b = 0;
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        double basis = cosX[i][x] * cosY[j][y];
+                        int offset = (y * width + x) * 3;
+                        r += basis * linear[offset];
+                        g += basis * linear[offset + 1];
+                        b += basis * linear[offset + 2];
+                    }
+                }
+                double scale = (i == 0 && j == 0 ? 1.0 : 2.0) / (width * height);
+                double[] factor = factors[j * componentsX + i];
+                factor[0] = r * scale;
+                factor[1] = g * scale;
+                factor[2] = b * scale;
+            }
+        }
+
+        StringBuilder hash = new StringBuilder(4 + 2 * factors.length);
+        appendBase83(hash, (componentsX - 1) + (componentsY - 1) * 9, 1);
+
+        double maximumValue = 1;
+        if (factors.length > 1) {
+            double actualMaximum = 0;
+            for (int k = 1; k < factors.length; k++) {
+                for (double value : factors[k]) actualMaximum = Math.max(actualMaximum, Math.abs(value));
+            }
+            int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+            maximumValue = (quantisedMaximum + 1) / 166.0;
+            appendBase83(hash, quantisedMaximum, 1);
+        } else {
+            appendBase83(hash, 0, 1);
+        }
+
+        double[] dc = factors[0];
+        appendBase83(hash, (linearToSrgb(dc[0]) << 16) + (linearToSrgb(dc[1]) << 8) + linearToSrgb(dc[2]), 4);
+        for (int k = 1; k < factors.length; k++) {
+            double[] ac = factors[k];
+            appendBase83(hash, quantiseAc(ac[0], maximumValue) * 19 * 19
+                    + quantiseAc(ac[1], maximumValue) * 19
+                    + quantiseAc(ac[2], maximumValue), 2);
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Decode into ARGB pixels of the given size, or null if the hash is malformed
+     */
+    public static int[] decode(String hash, int width, int height) {
+        if (hash == null || hash.length() < 6) return null;
+        int sizeFlag = decodeBase83(hash, 0, 1);
+        int componentsY = sizeFlag / 9 + 1;
+        int componentsX = sizeFlag % 9 + 1;
+        if (sizeFlag < 0 || hash.length() != 4 + 2 * componentsX * componentsY) return null;
+
+        int quantisedMaximum = decodeBase83(hash, 1, 2);
+        if (quantisedMaximum < 0) return null;
+        double maximumValue = (quantisedMaximum + 1) / 166.0;
+
+        double[][] colors = new double[componentsX * componentsY][3];
+        int dc = decodeBase83(hash, 2, 6);
+        if (dc < 0) return null;
+        colors[0][0] = srgbToLinear((dc >> 16) & 0xFF);
+        colors[0][1] = srgbToLinear((dc >> 8) & 0xFF);
+        colors[0][2] = srgbToLinear(dc & 0xFF);
+        for (int k = 1; k < colors.length; k++) {
+            int ac = decodeBase83(hash, 4 + k * 2, 6 + k * 2);
+            if (ac < 0) return null;
+            colors[k][0] = signPow((ac / (19 * 19) - 9) / 9.0, 2) * maximumValue;
+            colors[k][1] = signPow(((ac / 19) % 19 - 9) / 9.0, 2) * maximumValue;
+            colors[k][2] = signPow((ac % 19 - 9) / 9.0, 2) * maximumValue;
+        }
+
+        double[][] cosX = cosines(componentsX, width);
+        double[][] cosY = cosines(componentsY, height);
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double r = 0, g = 0, b = 0;
+                for (int j = 0; j < componentsY; j++) {
+                    for (int i = 0; i < componentsX; i++) {
+                        double basis = cosX[i][x] * cosY[j][y];
+                        double[] color = colors[j * componentsX + i];
+                        r += color[0] * basis;
+                        g += color[1] * basis;
+                        b += color[2] * basis;
+                    }
+                }
+                pixels[y * width + x] = 0xFF000000 | (linearToSrgb(r) << 16) | (linearToSrgb(g) << 8) | linearToSrgb(b);
+            }
+        }
+        return pixels;
+    }
+
+    private static double[][] cosines(int components, int size) {
+        double[][] table = new double[components][size];
+        for (int c = 0; c < components; c++) {
+            for (int p = 0; p < size; p++) {
+                table[c][p] = Math.cos(Math.PI * c * p / size);
+            }
+        }
+        return table;
+    }
+
+    private static int quantiseAc(double value, double maximumValue) {
+        return (int) Math.max(0, Math.min(18, Math.floor(signPow(value / maximumValue, 0.5) * 9 + 9.5)));
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        return v <= 0.0031308
+                ? (int) (v * 12.92 * 255 + 0.5)
+                : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static double signPow(double value, double exponent) {
+        return Math.copySign(Math.pow(Math.abs(value), exponent), value);
+    }
+
+    private static void appendBase83(StringBuilder out, int value, int length) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (value / pow83(length - i)) % 83;
+            out.append(BASE83.charAt(digit));
+        }
+    }
+
+    private static int decodeBase83(String hash, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = BASE83.indexOf(hash.charAt(i));
+            if (digit < 0) return -1;
+            value = value * 83 + digit;
+        }
+        return value;
+    }
+
+    private static int pow83(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) result *= 83;
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.hometutions.utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.engine.cache.DiskCache;
+import com.bumptech.glide.load.engine.cache.SafeKeyGenerator;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Glide's disk cache: the downsampled thumbnails it writes for inline Base64
+ * photos and the files it downloads from Storage, so a cold start neither
+ * decodes nor fetches them again. Bounded by a byte budget with least recently
+ * used eviction, with hit, miss and eviction counters. Entries are written to
+ * a temp file first and renamed into place, so a crash never leaves a half
+ * written one. Glide calls it on its background threads only.
+ */
+public class DiskThumbnailCache implements DiskCache {
+    private static final String TAG = "DiskThumbnailCache";
+
+    private static final String SUFFIX = ".img";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long maxBytes;
+    private final SafeKeyGenerator safeKeyGenerator = new SafeKeyGenerator();
+
+    // File name -> size in bytes, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private boolean initialized;
+
+    private int hits;
+    private int misses;
+    private int evictions;
+
+    public DiskThumbnailCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    @Nullable
+    @Override
+    public synchronized File get(@NonNull Key key) {
+        initialize();
+        String name = fileName(key);
+        if (entries.get(name) == null) {
+            misses++;
+            return null;
+        }
+        File file = new File(directory, name);
+        if (!file.exists()) {
+            // Deleted behind our back
+            removeEntry(name);
+            misses++;
+            return null;
+        }
+        hits++;
+        file.setLastModified(System.currentTimeMillis()); // keeps LRU order across restarts
+        return file;
+    }
+
+    @Override
+    public void put(@NonNull Key key, @NonNull Writer writer) {
+        String name;
+        synchronized (this) {
+            initialize();
+            name = fileName(key);
+            if (entries.containsKey(name)) return;
+        }
+
+        // Encoding can take a while, so it runs outside the lock into a temp file of this thread
+        File temp = new File(directory, name + "." + Thread.currentThread().getId() + TEMP_SUFFIX);
+        if (!writer.write(temp)) {
+            temp.delete();
+            return;
+        }
+
+        synchronized (this) {
+            File target = new File(directory, name);
+            if (!temp.renameTo(target)) {
+                Log.e(TAG, "Failed to move cache entry into place: " + name);
+                temp.delete();
+                return;
+            }
+            long size = target.length();
+            Long previous = entries.put(name, size);
+            if (previous != null) totalBytes -= previous;
+            totalBytes += size;
+            trimToBudget();
+        }
+    }
+
+    @Override
+    public synchronized void delete(@NonNull Key key) {
+        initialize();
+        removeEntry(fileName(key));
+    }
+
+    @Override
+    public synchronized void clear() {
+        initialize();
+        for (String name : entries.keySet()) {
+            new File(directory, name).delete();
+        }
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    public synchronized String getStats() {
+        return "size=" + totalBytes / 1024 + "/" + maxBytes / 1024 + " KB, files=" + entries.size()
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions;
+    }
+
+    /**
+     * Rebuild the LRU index from the directory on first use
+     */
+    private void initialize() {
+        if (initialized) return;
+        initialized = true;
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.e(TAG, "Cannot create cache directory: " + directory);
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) return;
+
+        // Oldest first so the access ordered map starts in LRU order
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(TEMP_SUFFIX)) {
+                file.delete(); // left over from an interrupted write
+            } else if (name.endsWith(SUFFIX)) {
+                entries.put(name, file.length());
+                totalBytes += file.length();
+            }
+        }
+        trimToBudget();
+        Log.d(TAG, "Image disk cache ready: " + getStats());
+    }
+
+    private void trimToBudget() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            new File(directory, eldest.getKey()).delete();
+            totalBytes -= eldest.getValue();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private void removeEntry(String name) {
+        Long size = entries.remove(name);
+        if (size != null) totalBytes -= size;
+        new File(directory, name).delete();
+    }
+
+    /**
+     * Glide keys hash their contents to a hex SHA-256, safe as a file name
+     */
+    private String fileName(Key key) {
+        return safeKeyGenerator.getSafeKey(key) + SUFFIX;
+    }
+}
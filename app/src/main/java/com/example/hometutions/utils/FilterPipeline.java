@@ -0,0 +1,137 @@
+package com.example.hometutions.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs filter queries on a single background worker.
+ * Submissions are debounced, a newer query cancels the one in flight, and
+ * only the result of the latest query is delivered on the main thread.
+ * Keeps simple latency counters for profiling on slow devices.
+ */
+public class FilterPipeline<T> {
+    private static final String TAG = "FilterPipeline";
+
+    public interface ResultListener<T> {
+        void onResult(T result);
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "filter-pipeline");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    private final ResultListener<T> listener;
+
+    // Only touched on the main thread
+    private Runnable pendingSubmit;
+    private Future<?> inFlight;
+    private long generation;
+
+    // Timing counters
+    private long submitted;
+    private long executed;
+    private long superseded;
+    private long totalLatencyMs;
+    private long maxLatencyMs;
+    private long lastLatencyMs;
+
+    public FilterPipeline(ResultListener<T> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Schedule a query after delayMs. A later submit within the delay replaces
+     * this one; a later submit after it started cancels it.
+     */
+    public void submit(Callable<T> query, long delayMs) {
+        submitted++;
+        if (pendingSubmit != null) {
+            mainHandler.removeCallbacks(pendingSubmit);
+            superseded++;
+        }
+        pendingSubmit = () -> {
+            pendingSubmit = null;
+            start(query);
+        };
+        if (delayMs > 0) {
+            mainHandler.postDelayed(pendingSubmit, delayMs);
+        } else {
+            pendingSubmit.run();
+        }
+    }
+
+    private void start(Callable<T> query) {
+        final long queryGeneration = ++generation;
+        if (inFlight != null && !inFlight.isDone()) {
+            inFlight.cancel(true);
+            superseded++;
+        }
+        final long startedAt = SystemClock.elapsedRealtime();
+        inFlight = worker.submit(() -> {
+            T result;
+            try {
+                result = query.call();
+            } catch (CancellationException | InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                Log.e(TAG, "Filter query failed", e);
+                return;
+            }
+            if (Thread.currentThread().isInterrupted()) return;
+            final long latencyMs = SystemClock.elapsedRealtime() - startedAt;
+            mainHandler.post(() -> {
+                // A newer query was started meanwhile, drop this result
+                if (queryGeneration != generation) return;
+                recordLatency(latencyMs);
+                listener.onResult(result);
+            });
+        });
+    }
+
+    private void recordLatency(long latencyMs) {
+        executed++;
+        lastLatencyMs = latencyMs;
+        totalLatencyMs += latencyMs;
+        maxLatencyMs = Math.max(maxLatencyMs, latencyMs);
+        Log.d(TAG, "Query took " + latencyMs + " ms (" + getStats() + ")");
+    }
+
+    public long getLastLatencyMs() {
+        return lastLatencyMs;
+    }
+
+    public long getAverageLatencyMs() {
+        return executed > 0 ? totalLatencyMs / executed : 0;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public String getStats() {
+        return "submitted=" + submitted + ", executed=" + executed + ", superseded=" + superseded
+                + ", avg=" + getAverageLatencyMs() + "ms, max=" + maxLatencyMs + "ms";
+    }
+
+    /**
+     * Drop pending work and stop the worker thread
+     */
+    public void shutdown() {
+        if (pendingSubmit != null) {
+            mainHandler.removeCallbacks(pendingSubmit);
+            pendingSubmit = null;
+        }
+        generation++;
+        worker.shutdownNow();
+    }
+}
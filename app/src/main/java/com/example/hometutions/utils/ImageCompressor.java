@@ -0,0 +1,366 @@
+package com.example.hometutions.utils;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Turns picked photos into compact JPEG or WebP bytes ready for upload.
+ * Each image class has a byte budget; the encoder binary-searches the highest
+ * quality that fits, for both formats, and keeps the one closer to the source.
+ * Memory stays bounded by the output size, not the source: images are sampled
+ * and scaled while decoding, so only one bitmap of at most maxPx is held, and
+ * every encoding attempt writes into a single buffer of the byte budget that
+ * gives up as soon as the budget is exceeded. Call off the main thread.
+ */
+public class ImageCompressor {
+    private static final String TAG = "ImageCompressor";
+
+    public static final int PROFILE_MAX_PX = 1024;
+    public static final int DOCUMENT_MAX_PX = 1600; // keep document text legible
+    public static final int THUMBNAIL_PX = 160;
+
+    public static final int PROFILE_MAX_BYTES = 64 * 1024;
+    public static final int DOCUMENT_MAX_BYTES = 150 * 1024;
+    public static final int THUMBNAIL_MAX_BYTES = 8 * 1024;
+
+    private static final int MAX_QUALITY = 92; // higher costs bytes without visible gain
+    private static final int MIN_QUALITY = 30;
+    private static final int MAX_DOWNSCALES = 3; // when even MIN_QUALITY does not fit
+    private static final float DOWNSCALE_FACTOR = 0.75f;
+    private static final int ERROR_GRID = 48; // sample points per side when comparing formats
+
+    // BlurHash previews: more pixels do not change the few components kept
+    private static final int PREVIEW_PX = 32;
+    private static final int PREVIEW_COMPONENTS_X = 4;
+    private static final int PREVIEW_COMPONENTS_Y = 3;
+
+    private ImageCompressor() {
+    }
+
+    /**
+     * Decode the image at the Uri scaled to fit maxPx and compress it to at
+     * most maxBytes (best effort when even a downscaled image does not fit)
+     */
+    public static byte[] compress(ContentResolver resolver, Uri uri, int maxPx, int maxBytes) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream in = open(resolver, uri)) {
+            BitmapFactory.decodeStream(in, null, options);
+        }
+        prepareScaledDecode(options, maxPx);
+
+        Bitmap bitmap;
+        try (InputStream in = open(resolver, uri)) {
+            bitmap = BitmapFactory.decodeStream(in, null, options);
+        }
+        return encode(bitmap, maxPx, maxBytes);
+    }
+
+    /**
+     * Re-encode already encoded image bytes so the longer side is at most maxPx
+     */
+    public static byte[] compress(byte[] encoded, int maxPx, int maxBytes) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(encoded, 0, encoded.length, options);
+        prepareScaledDecode(options, maxPx);
+        return encode(BitmapFactory.decodeByteArray(encoded, 0, encoded.length, options), maxPx, maxBytes);
+    }
+
+    /**
+     * Small image for list avatars, made from already compressed bytes
+     */
+    public static byte[] thumbnail(byte[] encoded) throws IOException {
+        return compress(encoded, THUMBNAIL_PX, THUMBNAIL_MAX_BYTES);
+    }
+
+    /**
+     * BlurHash preview of already compressed bytes (e.g. the thumbnail), small
+     * enough to store on a record and draw before the image has loaded
+     */
+    public static String blurHash(byte[] encoded) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(encoded, 0, encoded.length, options);
+        prepareScaledDecode(options, PREVIEW_PX);
+        Bitmap bitmap = BitmapFactory.decodeByteArray(encoded, 0, encoded.length, options);
+        if (bitmap == null) {
+            throw new IOException("Failed to decode image");
+        }
+        bitmap = scaleToFit(bitmap, PREVIEW_PX);
+        try {
+            int width = bitmap.getWidth();
+            int height = bitmap.getHeight();
+            int[] pixels = new int[width * height];
+            bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+            return BlurHash.encode(pixels, width, height, PREVIEW_COMPONENTS_X, PREVIEW_COMPONENTS_Y);
+        } finally {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Encode at the highest quality that fits in maxBytes, as JPEG or WebP,
+     * whichever looks closer to the bitmap. If neither fits at the lowest
+     * quality the image is scaled down and tried again. All attempts share
+     * one buffer of at most maxBytes.
+     */
+    public static byte[] encodeToBudget(Bitmap bitmap, int maxBytes) throws IOException {
+        long startedAt = SystemClock.elapsedRealtime();
+        BudgetOutputStream out = new BudgetOutputStream(maxBytes);
+        Bitmap current = bitmap;
+        try {
+            for (int attempt = 0; attempt <= MAX_DOWNSCALES; attempt++) {
+                checkInterrupted();
+                Candidate jpeg = searchQuality(current, Bitmap.CompressFormat.JPEG, out);
+                Candidate webp = searchQuality(current, webpFormat(), out);
+                Candidate best = choose(current, jpeg, webp);
+                if (best != null) {
+                    Log.d(TAG, "Encoded " + current.getWidth() + "x" + current.getHeight() + " as " + best.format
+                            + " q=" + best.quality + ": " + best.bytes.length / 1024 + " KB of " + maxBytes / 1024
+                            + " KB in " + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+                    return best.bytes;
+                }
+                if (attempt < MAX_DOWNSCALES) {
+                    Bitmap smaller = Bitmap.createScaledBitmap(current,
+                            Math.max(1, Math.round(current.getWidth() * DOWNSCALE_FACTOR)),
+                            Math.max(1, Math.round(current.getHeight() * DOWNSCALE_FACTOR)), true);
+                    if (current != bitmap) current.recycle();
+                    current = smaller;
+                }
+            }
+
+            // Still too big; keep it rather than failing the upload
+            Log.w(TAG, "Image exceeds budget of " + maxBytes + " bytes at quality " + MIN_QUALITY);
+            BudgetOutputStream unbounded = new BudgetOutputStream(Integer.MAX_VALUE);
+            if (!current.compress(Bitmap.CompressFormat.JPEG, MIN_QUALITY, unbounded)) {
+                throw new IOException("JPEG compression failed");
+            }
+            return unbounded.toByteArray();
+        } finally {
+            if (current != bitmap) current.recycle();
+        }
+    }
+
+    /**
+     * Highest quality of the format that fits the buffer's budget, or null.
+     * Size grows with quality, so a binary search needs about six encodes.
+     */
+    private static Candidate searchQuality(Bitmap bitmap, Bitmap.CompressFormat format, BudgetOutputStream out)
+            throws InterruptedIOException {
+        Candidate best = null;
+        int low = MIN_QUALITY;
+        int high = MAX_QUALITY;
+        while (low <= high) {
+            checkInterrupted();
+            int quality = (low + high) >>> 1;
+            out.reset();
+            if (bitmap.compress(format, quality, out) && !out.exceeded) {
+                best = new Candidate(format, quality, out.toByteArray());
+                low = quality + 1;
+            } else {
+                high = quality - 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lets a cancelled job stop between encodes
+     */
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Compression cancelled");
+        }
+    }
+
+    /**
+     * Qualities of different formats are not comparable, so compare how far
+     * each decoded result is from the source on a grid of sample points
+     */
+    private static Candidate choose(Bitmap source, Candidate first, Candidate second) {
+        if (first == null || second == null) return first != null ? first : second;
+        double firstError = sampledError(source, first.bytes);
+        double secondError = sampledError(source, second.bytes);
+        if (firstError == secondError) {
+            return first.bytes.length <= second.bytes.length ? first : second;
+        }
+        return firstError < secondError ? first : second;
+    }
+
+    private static double sampledError(Bitmap source, byte[] encoded) {
+        Bitmap decoded = BitmapFactory.decodeByteArray(encoded, 0, encoded.length);
+        if (decoded == null) return Double.MAX_VALUE;
+        try {
+            int width = Math.min(source.getWidth(), decoded.getWidth());
+            int height = Math.min(source.getHeight(), decoded.getHeight());
+            double error = 0;
+            for (int gy = 0; gy < ERROR_GRID; gy++) {
+                int y = (int) ((gy + 0.5f) * height / ERROR_GRID);
+                for (int gx = 0; gx < ERROR_GRID; gx++) {
+                    int x = (int) ((gx + 0.5f) * width / ERROR_GRID);
+                    int a = source.getPixel(x, y);
+                    int b = decoded.getPixel(x, y);
+                    error += square(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF))
+                            + square(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF))
+                            + square((a & 0xFF) - (b & 0xFF));
+                }
+            }
+            return error;
+        } finally {
+            decoded.recycle();
+        }
+    }
+
+    private static int square(int value) {
+        return value * value;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat webpFormat() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY : Bitmap.CompressFormat.WEBP;
+    }
+
+    private static byte[] encode(Bitmap bitmap, int maxPx, int maxBytes) throws IOException {
+        if (bitmap == null) {
+            throw new IOException("Failed to decode image");
+        }
+        bitmap = scaleToFit(bitmap, maxPx);
+        try {
+            return encodeToBudget(bitmap, maxBytes);
+        } finally {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Turn decoded bounds into options that sample by a power of two and let
+     * the decoder scale the rest of the way, so no intermediate full size
+     * bitmap is created
+     */
+    private static void prepareScaledDecode(BitmapFactory.Options options, int maxPx) throws IOException {
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Not a supported image");
+        }
+        options.inSampleSize = sampleSize(options.outWidth, options.outHeight, maxPx);
+        options.inJustDecodeBounds = false;
+
+        int sampledLongSide = Math.max(options.outWidth, options.outHeight) / options.inSampleSize;
+        if (sampledLongSide > maxPx) {
+            options.inScaled = true;
+            options.inDensity = sampledLongSide;
+            options.inTargetDensity = maxPx;
+        }
+    }
+
+    /**
+     * Largest power of two that keeps the longer side at or above maxPx
+     */
+    static int sampleSize(int width, int height, int maxPx) {
+        int longSide = Math.max(width, height);
+        int sampleSize = 1;
+        while (longSide / (sampleSize * 2) >= maxPx) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Scale down so the longer side is maxPx; recycles the input if it was replaced.
+     * Only needed when the decoder could not scale exactly.
+     */
+    static Bitmap scaleToFit(Bitmap bitmap, int maxPx) {
+        int longSide = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (longSide <= maxPx) return bitmap;
+        float scale = (float) maxPx / longSide;
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap,
+                Math.max(1, Math.round(bitmap.getWidth() * scale)),
+                Math.max(1, Math.round(bitmap.getHeight() * scale)), true);
+        if (scaled != bitmap) bitmap.recycle();
+        return scaled;
+    }
+
+    private static class Candidate {
+        final Bitmap.CompressFormat format;
+        final int quality;
+        final byte[] bytes;
+
+        Candidate(Bitmap.CompressFormat format, int quality, byte[] bytes) {
+            this.format = format;
+            this.quality = quality;
+            this.bytes = bytes;
+        }
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new IOException("Could not open image stream");
+        }
+        return in;
+    }
+
+    /**
+     * Growable byte buffer that refuses data past its budget. The encoder sees
+     * a write error and stops, so an oversized attempt costs no more memory
+     * than the budget.
+     */
+    private static class BudgetOutputStream extends OutputStream {
+        private static final int INITIAL_CAPACITY = 32 * 1024;
+
+        private final int maxBytes;
+        private byte[] buffer;
+        private int count;
+        private boolean exceeded;
+
+        BudgetOutputStream(int maxBytes) {
+            this.maxBytes = maxBytes;
+            this.buffer = new byte[Math.min(maxBytes, INITIAL_CAPACITY)];
+        }
+
+        void reset() {
+            count = 0;
+            exceeded = false;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureCapacity(1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureCapacity(len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int extra) throws IOException {
+            if (exceeded || extra > maxBytes - count) {
+                exceeded = true;
+                throw new IOException("Over budget of " + maxBytes + " bytes");
+            }
+            if (count + extra > buffer.length) {
+                long grown = Math.max((long) buffer.length * 2, (long) count + extra);
+                buffer = Arrays.copyOf(buffer, (int) Math.min(maxBytes, grown));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, count);
+        }
+    }
+}
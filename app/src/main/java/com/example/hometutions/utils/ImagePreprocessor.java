@@ -0,0 +1,215 @@
+package com.example.hometutions.utils;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compresses picked images concurrently on a small worker pool.
+ * Screens call {@link #prefetch} as soon as an image is picked, so the work
+ * is usually finished by the time the form is submitted; results are kept
+ * per Uri and preset and reused by {@link #process}. Progress of a batch is
+ * reported per image on the main thread. A batch can be cancelled (e.g. when
+ * the user backs out): nothing more is delivered for it and its unfinished
+ * images are interrupted, while finished results stay valid for the next attempt.
+ */
+public class ImagePreprocessor {
+    private static final String TAG = "ImagePreprocessor";
+
+    private static final int MAX_THREADS = 3;
+
+    public interface Listener {
+        void onImageStarted(String key);
+        void onImageDone(String key, int sizeBytes);
+        void onComplete(Map<String, byte[]> images);
+        void onFailure(String key, String error);
+    }
+
+    /**
+     * One image to compress with one of the {@link ImageCompressor} presets
+     */
+    public static class ImageJob {
+        final Uri uri;
+        final int maxPx;
+        final int maxBytes;
+
+        public ImageJob(Uri uri, int maxPx, int maxBytes) {
+            this.uri = uri;
+            this.maxPx = maxPx;
+            this.maxBytes = maxBytes;
+        }
+
+        public static ImageJob profilePhoto(Uri uri) {
+            return new ImageJob(uri, ImageCompressor.PROFILE_MAX_PX, ImageCompressor.PROFILE_MAX_BYTES);
+        }
+
+        public static ImageJob thumbnail(Uri uri) {
+            return new ImageJob(uri, ImageCompressor.THUMBNAIL_PX, ImageCompressor.THUMBNAIL_MAX_BYTES);
+        }
+
+        public static ImageJob document(Uri uri) {
+            return new ImageJob(uri, ImageCompressor.DOCUMENT_MAX_PX, ImageCompressor.DOCUMENT_MAX_BYTES);
+        }
+
+        String cacheKey() {
+            return uri + "@" + maxPx + ":" + maxBytes;
+        }
+    }
+
+    private final ContentResolver resolver;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1)), runnable -> {
+                Thread thread = new Thread(runnable, "image-preprocess-" + threadCount.incrementAndGet());
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+
+    // Uri and preset -> compressed bytes, finished or in progress
+    private final Map<String, CompletableFuture<byte[]>> results = new ConcurrentHashMap<>();
+    // Uri and preset -> pool task still compressing it
+    private final Map<String, Future<?>> running = new ConcurrentHashMap<>();
+
+    // Only touched on the main thread; bumping it cancels the running batch
+    private long generation;
+    private final List<String> batchKeys = new ArrayList<>(); // cache keys of the running batch
+
+    public ImagePreprocessor(ContentResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Start compressing the image in the background unless it already is
+     */
+    public void prefetch(ImageJob job) {
+        start(job);
+    }
+
+    /**
+     * Drop cached results of an image that was replaced by another pick
+     */
+    public void forget(Uri uri) {
+        if (uri == null) return;
+        String prefix = uri + "@";
+        for (Iterator<String> keys = results.keySet().iterator(); keys.hasNext(); ) {
+            if (keys.next().startsWith(prefix)) keys.remove();
+        }
+    }
+
+    /**
+     * Deliver all jobs, reusing prefetched results and compressing the rest in
+     * parallel. Replaces (cancels) a batch still running.
+     */
+    public void process(Map<String, ImageJob> jobs, Listener listener) {
+        final long batch = ++generation;
+        batchKeys.clear();
+        final long startedAt = SystemClock.elapsedRealtime();
+        final Map<String, byte[]> images = new HashMap<>();
+        if (jobs.isEmpty()) {
+            listener.onComplete(images);
+            return;
+        }
+
+        int reused = 0;
+        for (Map.Entry<String, ImageJob> entry : jobs.entrySet()) {
+            final String key = entry.getKey();
+            batchKeys.add(entry.getValue().cacheKey());
+            CompletableFuture<byte[]> future = start(entry.getValue());
+            if (future.isDone()) {
+                reused++;
+            } else {
+                listener.onImageStarted(key);
+            }
+            future.whenComplete((bytes, error) -> mainHandler.post(() -> {
+                if (batch != generation) return;
+                if (error != null) {
+                    cancel(); // first failure ends the batch
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    Log.e(TAG, "Failed to process " + key + ": " + cause.getMessage());
+                    listener.onFailure(key, cause.getMessage());
+                    return;
+                }
+                images.put(key, bytes);
+                listener.onImageDone(key, bytes.length);
+                if (images.size() == jobs.size()) {
+                    Log.d(TAG, "Delivered " + images.size() + " images in "
+                            + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+                    listener.onComplete(images);
+                }
+            }));
+        }
+        Log.d(TAG, reused + " of " + jobs.size() + " images were ready at submit");
+    }
+
+    /**
+     * Drop the running batch; nothing more is delivered for it and images
+     * still compressing for it are interrupted
+     */
+    public void cancel() {
+        generation++;
+        for (String cacheKey : batchKeys) {
+            Future<?> work = running.remove(cacheKey);
+            if (work != null) work.cancel(true);
+            // Also settles results whose task never got to run
+            CompletableFuture<byte[]> result = results.get(cacheKey);
+            if (result != null && result.cancel(false)) results.remove(cacheKey, result);
+        }
+        batchKeys.clear();
+    }
+
+    public void shutdown() {
+        cancel();
+        pool.shutdownNow();
+        results.clear();
+    }
+
+    /**
+     * Cached or newly started compression of the job; called on the main thread
+     */
+    private CompletableFuture<byte[]> start(ImageJob job) {
+        final String cacheKey = job.cacheKey();
+        CompletableFuture<byte[]> cached = results.get(cacheKey);
+        if (cached != null) return cached;
+
+        // Submitted to the pool directly so cancel() can interrupt the worker;
+        // cancelling a CompletableFuture does not
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        Future<?> work = pool.submit(() -> {
+            long startedAt = SystemClock.elapsedRealtime();
+            try {
+                byte[] bytes = ImageCompressor.compress(resolver, job.uri, job.maxPx, job.maxBytes);
+                Log.d(TAG, "Compressed to " + bytes.length / 1024 + " KB in "
+                        + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+                future.complete(bytes);
+            } catch (Exception | OutOfMemoryError e) {
+                future.completeExceptionally(e);
+            }
+        });
+        running.put(cacheKey, work);
+        results.put(cacheKey, future);
+        // A failed or cancelled attempt is not cached, picking the same image again retries it
+        future.whenComplete((bytes, error) -> {
+            running.remove(cacheKey, work);
+            if (error != null) results.remove(cacheKey, future);
+        });
+        return future;
+    }
+}
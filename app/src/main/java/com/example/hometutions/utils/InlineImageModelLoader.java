@@ -0,0 +1,119 @@
+package com.example.hometutions.utils;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.signature.ObjectKey;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Lets Glide load images stored inline in a record, either as raw Base64 or
+ * as a {@code data:image/...;base64,} URI. The string is only turned into
+ * bytes here; decoding, downsampling, bitmap pooling and caching are Glide's.
+ * Registered in {@link com.example.hometutions.HomeTutionsGlideModule}.
+ */
+public class InlineImageModelLoader implements ModelLoader<String, ByteBuffer> {
+
+    private static final String DATA_URI_PREFIX = "data:image";
+    private static final int MIN_BASE64_LENGTH = 100; // shorter strings are ids or placeholders
+
+    /**
+     * Whether the value is an inline Base64 image rather than a URL
+     */
+    public static boolean isInlineImage(String data) {
+        if (data == null) return false;
+        if (data.startsWith(DATA_URI_PREFIX)) return true;
+        // Storage download URLs are long as well, but always carry a scheme
+        return data.length() > MIN_BASE64_LENGTH && !data.contains("://");
+    }
+
+    @Override
+    public boolean handles(@NonNull String model) {
+        return isInlineImage(model);
+    }
+
+    @Override
+    public LoadData<ByteBuffer> buildLoadData(@NonNull String model, int width, int height, @NonNull Options options) {
+        // Photos run to hundreds of KB; the cache keys only need a digest of them
+        return new LoadData<>(new ObjectKey(digest(model)), new InlineImageFetcher(model));
+    }
+
+    /**
+     * Hex SHA-1 of the inline image string
+     */
+    static String digest(String model) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-1").digest(model.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return model.length() + ":" + Integer.toHexString(model.hashCode());
+        }
+    }
+
+    private static class InlineImageFetcher implements DataFetcher<ByteBuffer> {
+        private final String model;
+
+        InlineImageFetcher(String model) {
+            this.model = model;
+        }
+
+        @Override
+        public void loadData(@NonNull Priority priority, @NonNull DataCallback<? super ByteBuffer> callback) {
+            try {
+                String base64 = model.startsWith(DATA_URI_PREFIX) ? model.substring(model.indexOf(',') + 1) : model;
+                callback.onDataReady(ByteBuffer.wrap(Base64.decode(base64, Base64.DEFAULT)));
+            } catch (IllegalArgumentException e) {
+                callback.onLoadFailed(e);
+            }
+        }
+
+        @Override
+        public void cleanup() {
+        }
+
+        @Override
+        public void cancel() {
+            // Decoding a string in memory is not interruptible and is quick
+        }
+
+        @NonNull
+        @Override
+        public Class<ByteBuffer> getDataClass() {
+            return ByteBuffer.class;
+        }
+
+        @NonNull
+        @Override
+        public DataSource getDataSource() {
+            return DataSource.LOCAL;
+        }
+    }
+
+    public static class Factory implements ModelLoaderFactory<String, ByteBuffer> {
+        @NonNull
+        @Override
+        public ModelLoader<String, ByteBuffer> build(@NonNull MultiModelLoaderFactory multiFactory) {
+            return new InlineImageModelLoader();
+        }
+
+        @Override
+        public void teardown() {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.hometutions.utils;
+
+import android.content.Context;
+import android.location.Address;
+import android.location.Geocoder;
+import android.text.TextUtils;
+import android.util.Log;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class LocationUtils {
+
+    private static final String TAG = "LocationUtils";
+
+    // How long a save waits for an address to be geocoded before going without coordinates
+    public static final long GEOCODE_TIMEOUT_MS = 5000;
+
+    private static final ExecutorService geocodeExecutor = Executors.newCachedThreadPool();
+    private static final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * Resolve a free-text address to {latitude, longitude}, or null if it
+     * cannot be geocoded. Performs network I/O, never call on the main thread.
+     */
+    @SuppressWarnings("deprecation")
+    public static double[] geocodeAddress(Context context, String address) {
+        if (context == null || TextUtils.isEmpty(address) || !Geocoder.isPresent()) {
+            return null;
+        }
+        try {
+            Geocoder geocoder = new Geocoder(context.getApplicationContext(), Locale.getDefault());
+            List<Address> results = geocoder.getFromLocationName(address, 1);
+            if (results != null && !results.isEmpty()) {
+                Address result = results.get(0);
+                return new double[]{result.getLatitude(), result.getLongitude()};
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to geocode address: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Geocode an address in the background. The future completes with null if
+     * the address cannot be resolved within timeoutMs, so callers can wait on it
+     * without holding up a save indefinitely.
+     */
+    public static CompletableFuture<double[]> geocodeAddressAsync(Context context, String address, long timeoutMs) {
+        final Context appContext = context.getApplicationContext();
+        CompletableFuture<double[]> coordinates =
+                CompletableFuture.supplyAsync(() -> geocodeAddress(appContext, address), geocodeExecutor);
+        timeoutScheduler.schedule(() -> {
+            if (coordinates.complete(null)) Log.w(TAG, "Geocoding timed out after " + timeoutMs + " ms");
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        return coordinates.exceptionally(e -> null);
+    }
+
+    /**
+     * Parse a distance range label such as "0-5 km" or "20+ km" into
+     * {minKm, maxKm}. Returns null for "Any Distance" or unknown labels.
+     */
+    public static double[] parseDistanceRange(String label) {
+        if (label == null) return null;
+        String value = label.toLowerCase(Locale.ROOT).replace("km", "").trim();
+        try {
+            if (value.endsWith("+")) {
+                double min = Double.parseDouble(value.substring(0, value.length() - 1).trim());
+                return new double[]{min, Double.POSITIVE_INFINITY};
+            }
+            int dash = value.indexOf('-');
+            if (dash > 0) {
+                double min = Double.parseDouble(value.substring(0, dash).trim());
+                double max = Double.parseDouble(value.substring(dash + 1).trim());
+                return new double[]{min, max};
+            }
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Unknown distance range: " + label);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Teacher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Typo tolerant free-text search over teacher name, subjects and institution.
+ *
+ * Every distinct word is indexed once by its trigrams. A query word first
+ * collects vocabulary words sharing enough trigrams with it, then confirms them
+ * with a bounded edit distance against the word or its prefix, so "Chemestry",
+ * "Maths" and "Phy" still find chemistry, mathematics and physics teachers.
+ * Only the vocabulary is scanned, never the teachers themselves.
+ */
+public class TeacherFuzzyIndex {
+
+    private static final int GRAM = 3;
+    private static final String PAD = "$$"; // marks the start of a word
+    private static final int MIN_PREFIX_LENGTH = 3; // shorter query words must match a whole word
+    private static final double PREFIX_PENALTY = 0.8;
+
+    // Vocabulary: term id -> word, word -> term id
+    private final List<String> terms = new ArrayList<>();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final Map<String, List<Integer>> gramPostings = new HashMap<>();
+
+    // Teachers are numbered by slot in insertion order; slots of removed teachers stay empty
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final List<String> idsBySlot = new ArrayList<>();
+    private final List<Set<Integer>> termsBySlot = new ArrayList<>();
+    private final Map<Integer, Set<Integer>> termSlots = new HashMap<>();
+
+    public synchronized void put(Teacher teacher) {
+        String id = keyOf(teacher);
+        if (id == null) return;
+
+        Set<Integer> newTerms = new LinkedHashSet<>();
+        for (String word : searchableWords(teacher)) {
+            newTerms.add(termId(word));
+        }
+        Integer slot = slotsById.get(id);
+        if (slot == null) {
+            slot = idsBySlot.size();
+            slotsById.put(id, slot);
+            idsBySlot.add(id);
+            termsBySlot.add(null);
+        }
+        if (newTerms.equals(termsBySlot.get(slot))) return;
+
+        removeTerms(slot);
+        for (Integer term : newTerms) {
+            Set<Integer> slots = termSlots.get(term);
+            if (slots == null) {
+                slots = new HashSet<>();
+                termSlots.put(term, slots);
+            }
+            slots.add(slot);
+        }
+        termsBySlot.set(slot, newTerms);
+    }
+
+    public synchronized void remove(String id) {
+        if (id == null) return;
+        Integer slot = slotsById.remove(id);
+        if (slot == null) return;
+        removeTerms(slot);
+        idsBySlot.set(slot, null);
+    }
+
+    /**
+     * Drops all teachers. The vocabulary is kept since it is shared by reloads.
+     */
+    public synchronized void clear() {
+        slotsById.clear();
+        idsBySlot.clear();
+        termsBySlot.clear();
+        termSlots.clear();
+    }
+
+    public synchronized int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Ids of teachers matching every word of the query, most relevant first,
+     * ties in insertion order. An empty query returns an empty list.
+     */
+    public List<String> search(String query, int limit) {
+        return search(query, null, limit);
+    }
+
+    /**
+     * Like {@link #search(String, int)} but only among candidateIds when that is
+     * not null, so other filters are applied before the limit.
+     */
+    public synchronized List<String> search(String query, Set<String> candidateIds, int limit) {
+        List<String> result = new ArrayList<>();
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(TeacherSearchIndex.tokenize(query)));
+        if (words.isEmpty() || limit <= 0) return result;
+
+        int slotCount = idsBySlot.size();
+        double[] total = new double[slotCount];
+        double[] wordBest = new double[slotCount];
+        int[] wordsMatched = new int[slotCount];
+        List<Integer> candidates = null;
+
+        for (int w = 0; w < words.size(); w++) {
+            List<Integer> touched = new ArrayList<>();
+            for (Map.Entry<Integer, Double> match : matchTerms(words.get(w)).entrySet()) {
+                double score = match.getValue();
+                for (Integer slot : termSlots.get(match.getKey())) {
+                    // Only teachers that matched every earlier word are still candidates
+                    if (wordsMatched[slot] != w) continue;
+                    if (w == 0 && candidateIds != null && !candidateIds.contains(idsBySlot.get(slot))) continue;
+                    if (wordBest[slot] == 0) touched.add(slot);
+                    if (score > wordBest[slot]) wordBest[slot] = score;
+                }
+            }
+            for (Integer slot : touched) {
+                total[slot] += wordBest[slot];
+                wordBest[slot] = 0;
+                wordsMatched[slot]++;
+            }
+            candidates = touched;
+            if (candidates.isEmpty()) return result;
+        }
+
+        // Bounded heap, weakest on top
+        Comparator<Integer> worstFirst = (a, b) -> {
+            int byScore = Double.compare(total[a], total[b]);
+            return byScore != 0 ? byScore : Integer.compare(b, a);
+        };
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, worstFirst);
+        for (Integer slot : candidates) {
+            if (heap.size() < limit) {
+                heap.add(slot);
+            } else if (worstFirst.compare(slot, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(slot);
+            }
+        }
+        while (!heap.isEmpty()) {
+            result.add(idsBySlot.get(heap.poll()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Vocabulary words close enough to one query word, with their similarity.
+     * Words no current teacher uses are skipped.
+     */
+    private Map<Integer, Double> matchTerms(String word) {
+        Map<Integer, Double> matches = new HashMap<>();
+        int maxEdits = maxEdits(word.length());
+        List<String> grams = grams(word, false);
+
+        // Count shared trigrams per vocabulary word
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : new HashSet<>(grams)) {
+            List<Integer> posting = gramPostings.get(gram);
+            if (posting == null) continue;
+            for (Integer term : posting) {
+                Integer count = shared.get(term);
+                shared.put(term, count == null ? 1 : count + 1);
+            }
+        }
+
+        // Each edit destroys at most GRAM trigrams
+        int minShared = Math.max(1, grams.size() - GRAM * maxEdits);
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() < minShared || !termSlots.containsKey(entry.getKey())) continue;
+            double score = similarity(word, terms.get(entry.getKey()), maxEdits);
+            if (score > 0) matches.put(entry.getKey(), score);
+        }
+        return matches;
+    }
+
+    /**
+     * Similarity in (0, 1] if the term or one of its prefixes is within
+     * maxEdits of the query word, otherwise 0.
+     */
+    static double similarity(String query, String term, int maxEdits) {
+        int m = query.length();
+        int n = Math.min(term.length(), m + maxEdits);
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) previous[j] = j;
+
+        for (int i = 1; i <= m; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char qc = query.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int cost = qc == term.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) return 0;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        double best = 0;
+        if (term.length() == n && previous[n] <= maxEdits) {
+            best = 1.0 - (double) previous[n] / (m + 1);
+        }
+        if (m >= MIN_PREFIX_LENGTH) {
+            int prefixEdits = Integer.MAX_VALUE;
+            for (int j = 0; j <= n; j++) prefixEdits = Math.min(prefixEdits, previous[j]);
+            if (prefixEdits <= maxEdits) {
+                best = Math.max(best, PREFIX_PENALTY * (1.0 - (double) prefixEdits / (m + 1)));
+            }
+        }
+        return best;
+    }
+
+    static int maxEdits(int length) {
+        if (length <= 2) return 0;
+        if (length <= 5) return 1;
+        return 2;
+    }
+
+    private int termId(String word) {
+        Integer id = termIds.get(word);
+        if (id != null) return id;
+        id = terms.size();
+        terms.add(word);
+        termIds.put(word, id);
+        for (String gram : new HashSet<>(grams(word, true))) {
+            List<Integer> posting = gramPostings.get(gram);
+            if (posting == null) {
+                posting = new ArrayList<>();
+                gramPostings.put(gram, posting);
+            }
+            posting.add(id);
+        }
+        return id;
+    }
+
+    /**
+     * Trigrams of a word padded at the start. Indexed words are also padded at
+     * the end; query words are not, since they may be an unfinished prefix.
+     */
+    private static List<String> grams(String word, boolean padEnd) {
+        String padded = PAD + word + (padEnd ? "$" : "");
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void removeTerms(int slot) {
+        Set<Integer> previous = termsBySlot.get(slot);
+        if (previous == null) return;
+        termsBySlot.set(slot, null);
+        for (Integer term : previous) {
+            Set<Integer> slots = termSlots.get(term);
+            if (slots == null) continue;
+            slots.remove(slot);
+            if (slots.isEmpty()) termSlots.remove(term);
+        }
+    }
+
+    private static Set<String> searchableWords(Teacher teacher) {
+        Set<String> words = new LinkedHashSet<>();
+        words.addAll(TeacherSearchIndex.tokenize(teacher.getFullName()));
+        words.addAll(TeacherSearchIndex.tokenize(teacher.getInstitution()));
+        words.addAll(TeacherSearchIndex.tokenize(teacher.getSubjects()));
+        if (teacher.getSubjectsTaught() != null) {
+            for (String subject : teacher.getSubjectsTaught()) {
+                words.addAll(TeacherSearchIndex.tokenize(subject));
+            }
+        }
+        return words;
+    }
+
+    private static String keyOf(Teacher teacher) {
+        if (teacher == null) return null;
+        return teacher.getId() != null ? teacher.getId() : teacher.getUserId();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Teacher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Uniform-grid spatial index over teacher coordinates.
+ * Radius queries only visit the grid cells overlapping the search circle and
+ * run the exact haversine check on the teachers found there.
+ */
+public class TeacherGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    // ~5.5 km per cell in latitude, matches the smallest dashboard range
+    private static final double CELL_SIZE_DEG = 0.05;
+    private static final int COLS_AROUND_GLOBE = (int) Math.round(360.0 / CELL_SIZE_DEG);
+
+    private final Map<Long, Set<String>> cells = new HashMap<>();
+    private final Map<String, double[]> pointsById = new HashMap<>();
+
+    /**
+     * Index a teacher's coordinates, replacing any previous position.
+     * Teachers without coordinates are removed from the index.
+     */
+    public synchronized void put(Teacher teacher) {
+        if (teacher == null) return;
+        String id = teacher.getId() != null ? teacher.getId() : teacher.getUserId();
+        if (id == null) return;
+        if (!teacher.hasCoordinates()) {
+            remove(id);
+            return;
+        }
+        put(id, teacher.getLatitude(), teacher.getLongitude());
+    }
+
+    public synchronized void put(String id, double latitude, double longitude) {
+        double[] previous = pointsById.get(id);
+        if (previous != null && previous[0] == latitude && previous[1] == longitude) return;
+        remove(id);
+
+        pointsById.put(id, new double[]{latitude, longitude});
+        long cell = cellKey(latitude, longitude);
+        Set<String> ids = cells.get(cell);
+        if (ids == null) {
+            ids = new HashSet<>();
+            cells.put(cell, ids);
+        }
+        ids.add(id);
+    }
+
+    public synchronized void remove(String id) {
+        double[] point = pointsById.remove(id);
+        if (point == null) return;
+        long cell = cellKey(point[0], point[1]);
+        Set<String> ids = cells.get(cell);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) cells.remove(cell);
+        }
+    }
+
+    public synchronized void clear() {
+        cells.clear();
+        pointsById.clear();
+    }
+
+    public synchronized int size() {
+        return pointsById.size();
+    }
+
+    /**
+     * Ids of teachers whose distance from the origin lies in [minKm, maxKm].
+     * Pass Double.POSITIVE_INFINITY as maxKm for an open-ended range.
+     */
+    public synchronized Set<String> withinRange(double latitude, double longitude, double minKm, double maxKm) {
+        Set<String> result = new HashSet<>();
+        for (String id : candidates(latitude, longitude, maxKm)) {
+            double[] point = pointsById.get(id);
+            double distance = haversineKm(latitude, longitude, point[0], point[1]);
+            if (distance >= minKm && distance <= maxKm) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Great-circle distance between two coordinates in kilometres
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private List<String> candidates(double latitude, double longitude, double radiusKm) {
+        List<String> ids = new ArrayList<>();
+        if (Double.isInfinite(radiusKm)) {
+            ids.addAll(pointsById.keySet());
+            return ids;
+        }
+
+        double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latSpan)));
+        double lonSpan = Math.min(180.0, radiusKm / (KM_PER_DEGREE_LAT * Math.max(cosLat, 1e-6)));
+
+        int minRow = cellIndex(Math.max(-90.0, latitude - latSpan));
+        int maxRow = cellIndex(Math.min(90.0, latitude + latSpan));
+        int minCol = cellIndex(longitude - lonSpan);
+        int maxCol = cellIndex(longitude + lonSpan);
+
+        // Fall back to a full scan when the search box covers more cells than there are points
+        long cellCount = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (cellCount > pointsById.size()) {
+            ids.addAll(pointsById.keySet());
+            return ids;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                Set<String> cellIds = cells.get(cellKey(row, wrapColumn(col)));
+                if (cellIds != null) ids.addAll(cellIds);
+            }
+        }
+        return ids;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEG);
+    }
+
+    private static int wrapColumn(int col) {
+        int half = COLS_AROUND_GLOBE / 2;
+        // Columns span [-half, half), wrap across the antimeridian
+        return Math.floorMod(col + half, COLS_AROUND_GLOBE) - half;
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return cellKey(cellIndex(latitude), wrapColumn(cellIndex(longitude)));
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
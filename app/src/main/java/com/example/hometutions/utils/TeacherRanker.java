@@ -0,0 +1,200 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Student;
+import com.example.hometutions.models.Teacher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Scores teachers against a student's profile and keeps the best K.
+ * Uses a bounded min-heap, so ranking n candidates costs O(n log K)
+ * instead of sorting the whole list.
+ */
+public class TeacherRanker {
+
+    // Weights add up to 1.0
+    private static final double WEIGHT_SUBJECTS = 0.30;
+    private static final double WEIGHT_STREAMS = 0.20;
+    private static final double WEIGHT_BUDGET = 0.15;
+    private static final double WEIGHT_GENDER = 0.10;
+    private static final double WEIGHT_RATING = 0.10;
+    private static final double WEIGHT_EXPERIENCE = 0.10;
+    private static final double WEIGHT_TIME_SLOT = 0.05;
+
+    private static final double DEFAULT_RATING = 4.5;
+    private static final int EXPERIENCE_CAP_YEARS = 20;
+    private static final int CANCEL_CHECK_MASK = 0x3FF; // check for interruption every 1024 candidates
+
+    private final Set<String> subjectsNeeded;
+    private final Set<String> streamsNeeded;
+    private final int minBudget;
+    private final int maxBudget;
+    private final String preferredGender;
+    private final String preferredTimeSlot;
+
+    public TeacherRanker(Student student) {
+        subjectsNeeded = normalizedSet(student.getSubjectsNeeded());
+        streamsNeeded = normalizedSet(student.getTuitionStreams());
+        minBudget = Math.max(0, student.getMinBudget());
+        maxBudget = Math.max(0, student.getMaxBudget());
+        preferredGender = TeacherSearchIndex.normalize(student.getPreferredTeacherGender());
+        preferredTimeSlot = TeacherSearchIndex.normalize(student.getPreferredTimeSlot());
+    }
+
+    /**
+     * The k best matching teachers, best first. Ties keep their input order.
+     */
+    public List<Teacher> topK(Collection<Teacher> candidates, int k) {
+        List<Teacher> result = new ArrayList<>();
+        if (k <= 0 || candidates == null) return result;
+
+        // Min-heap on score: the root is the weakest of the current top k
+        PriorityQueue<ScoredTeacher> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        int order = 0;
+        for (Teacher teacher : candidates) {
+            if (teacher == null) continue;
+            // Let a superseded background query stop early
+            if ((order & CANCEL_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Ranking cancelled");
+            }
+            ScoredTeacher scored = new ScoredTeacher(teacher, score(teacher), order++);
+            if (heap.size() < k) {
+                heap.add(scored);
+            } else if (WORST_FIRST.compare(scored, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().teacher);
+        }
+        // Heap drains worst first
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Match score in [0, 1]
+     */
+    public double score(Teacher teacher) {
+        double score = 0;
+        score += WEIGHT_SUBJECTS * subjectOverlap(teacher);
+        score += WEIGHT_STREAMS * overlap(streamsNeeded, teacher.getTeachingStreams(), null);
+        score += WEIGHT_BUDGET * budgetFit(parseDouble(teacher.getHourlyRate(), 0));
+        score += WEIGHT_GENDER * genderFit(teacher.getGender());
+        score += WEIGHT_RATING * Math.min(1.0, parseDouble(teacher.getRating(), DEFAULT_RATING) / 5.0);
+        score += WEIGHT_EXPERIENCE * Math.min(1.0, (double) experienceYears(teacher) / EXPERIENCE_CAP_YEARS);
+        score += WEIGHT_TIME_SLOT * timeSlotFit(teacher.getAvailability());
+        return score;
+    }
+
+    /**
+     * Fraction of what the student needs that the teacher covers.
+     * A student with no stated needs is neutral (0.5) on this criterion.
+     */
+    private static double overlap(Set<String> needed, List<String> offered, String[] offeredLegacy) {
+        if (needed.isEmpty()) return 0.5;
+        Set<String> matched = null;
+        if (offered != null) {
+            for (String item : offered) {
+                matched = addIfNeeded(needed, item, matched);
+            }
+        }
+        if (offeredLegacy != null) {
+            for (String item : offeredLegacy) {
+                matched = addIfNeeded(needed, item, matched);
+            }
+        }
+        return matched == null ? 0.0 : (double) matched.size() / needed.size();
+    }
+
+    private static Set<String> addIfNeeded(Set<String> needed, String item, Set<String> matched) {
+        String normalized = TeacherSearchIndex.normalize(item);
+        if (!needed.contains(normalized)) return matched;
+        if (matched == null) matched = new HashSet<>();
+        matched.add(normalized);
+        return matched;
+    }
+
+    private double budgetFit(double rate) {
+        if (maxBudget <= 0 || rate <= 0) return 0.5; // unknown on either side
+        if (rate >= minBudget && rate <= maxBudget) return 1.0;
+        double gap = rate < minBudget ? minBudget - rate : rate - maxBudget;
+        return Math.max(0.0, 1.0 - gap / maxBudget);
+    }
+
+    private double genderFit(String teacherGender) {
+        if (preferredGender.isEmpty() || preferredGender.startsWith("any")
+                || preferredGender.startsWith("no ")) {
+            return 1.0;
+        }
+        return preferredGender.equals(TeacherSearchIndex.normalize(teacherGender)) ? 1.0 : 0.0;
+    }
+
+    private double timeSlotFit(String availability) {
+        if (preferredTimeSlot.isEmpty() || availability == null) return 0.5;
+        return TeacherSearchIndex.normalize(availability).contains(preferredTimeSlot) ? 1.0 : 0.0;
+    }
+
+    private double subjectOverlap(Teacher teacher) {
+        // Legacy comma separated "subjects" field counts too
+        String legacy = teacher.getSubjects();
+        return overlap(subjectsNeeded, teacher.getSubjectsTaught(), legacy != null ? legacy.split(",") : null);
+    }
+
+    private static int experienceYears(Teacher teacher) {
+        if (teacher.getYearsOfExperience() > 0) return teacher.getYearsOfExperience();
+        return (int) parseDouble(teacher.getExperience(), 0);
+    }
+
+    private static Set<String> normalizedSet(List<String> values) {
+        Set<String> set = new HashSet<>();
+        if (values == null) return set;
+        for (String value : values) {
+            String normalized = TeacherSearchIndex.normalize(value);
+            if (!normalized.isEmpty()) set.add(normalized);
+        }
+        return set;
+    }
+
+    private static double parseDouble(String value, double fallback) {
+        if (value == null) return fallback;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            // Values such as "500/hr" or "5 years"
+            try {
+                return Double.parseDouble(value.replaceAll("[^0-9.]", ""));
+            } catch (NumberFormatException ignored) {
+                return fallback;
+            }
+        }
+    }
+
+    // Lower score first; among equal scores the later candidate is worse
+    private static final Comparator<ScoredTeacher> WORST_FIRST = (a, b) -> {
+        int byScore = Double.compare(a.score, b.score);
+        return byScore != 0 ? byScore : Integer.compare(b.order, a.order);
+    };
+
+    private static class ScoredTeacher {
+        final Teacher teacher;
+        final double score;
+        final int order;
+
+        ScoredTeacher(Teacher teacher, double score, int order) {
+            this.teacher = teacher;
+            this.score = score;
+            this.order = order;
+        }
+    }
+}
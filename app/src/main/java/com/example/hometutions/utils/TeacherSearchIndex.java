@@ -0,0 +1,308 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Teacher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over teachers for the dashboard filters.
+ * Keeps posting lists (teacher ids) per normalized subject, teaching stream
+ * and location token so that combined filters become set intersections
+ * instead of a scan over every teacher. Location tokens are kept sorted so a
+ * partially typed token is a range lookup.
+ */
+public class TeacherSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Teacher> teachersById = new LinkedHashMap<>();
+    private final Map<String, Long> insertionOrder = new HashMap<>();
+    private final Map<String, IndexedTokens> tokensById = new HashMap<>();
+
+    private final Map<String, Set<String>> subjectPostings = new HashMap<>();
+    private final Map<String, Set<String>> streamPostings = new HashMap<>();
+    private final TreeMap<String, Set<String>> locationPostings = new TreeMap<>();
+
+    private long nextOrder = 0;
+
+    /**
+     * Add or replace a teacher. Postings are only touched when one of the
+     * indexed fields actually changed.
+     */
+    public synchronized void put(Teacher teacher) {
+        String id = keyOf(teacher);
+        if (id == null) return;
+
+        IndexedTokens tokens = new IndexedTokens(teacher);
+        teachersById.put(id, teacher);
+        if (!insertionOrder.containsKey(id)) {
+            insertionOrder.put(id, nextOrder++);
+        }
+        if (tokens.equals(tokensById.get(id))) return;
+
+        removePostings(id);
+        for (String subject : tokens.subjects) addPosting(subjectPostings, subject, id);
+        for (String stream : tokens.streams) addPosting(streamPostings, stream, id);
+        for (String token : tokens.locations) addPosting(locationPostings, token, id);
+        tokensById.put(id, tokens);
+    }
+
+    /**
+     * Remove a teacher and all of its postings
+     */
+    public synchronized void remove(String id) {
+        if (id == null) return;
+        removePostings(id);
+        teachersById.remove(id);
+        insertionOrder.remove(id);
+    }
+
+    public synchronized void clear() {
+        teachersById.clear();
+        insertionOrder.clear();
+        tokensById.clear();
+        subjectPostings.clear();
+        streamPostings.clear();
+        locationPostings.clear();
+        nextOrder = 0;
+    }
+
+    public synchronized int size() {
+        return teachersById.size();
+    }
+
+    public synchronized Teacher get(String id) {
+        return teachersById.get(id);
+    }
+
+    /**
+     * Find teachers matching all given filters. A null or empty filter means
+     * "any". Every token of the location query must match a location token,
+     * except the last one which may be an unfinished prefix ("andheri mum").
+     * Results keep the order in which teachers were first indexed.
+     */
+    public synchronized List<Teacher> query(String stream, String subject, String location) {
+        return query(stream, subject, location, null);
+    }
+
+    /**
+     * Same as {@link #query(String, String, String)}, additionally restricted
+     * to the given candidate ids (e.g. teachers within a distance range).
+     * A null candidate set means no restriction.
+     */
+    public synchronized List<Teacher> query(String stream, String subject, String location,
+                                            Set<String> candidateIds) {
+        List<Set<String>> constraints = new ArrayList<>();
+        if (candidateIds != null) {
+            constraints.add(candidateIds);
+        }
+
+        String normalizedStream = normalize(stream);
+        if (!normalizedStream.isEmpty()) {
+            constraints.add(postingsFor(streamPostings, normalizedStream));
+        }
+        String normalizedSubject = normalize(subject);
+        if (!normalizedSubject.isEmpty()) {
+            constraints.add(postingsFor(subjectPostings, normalizedSubject));
+        }
+        List<String> locationTokens = tokenize(location);
+        for (int i = 0; i < locationTokens.size(); i++) {
+            String token = locationTokens.get(i);
+            boolean last = i == locationTokens.size() - 1;
+            constraints.add(last ? locationPrefixPostings(token) : postingsFor(locationPostings, token));
+        }
+
+        if (constraints.isEmpty()) {
+            return new ArrayList<>(teachersById.values());
+        }
+
+        // Intersect starting from the smallest posting list
+        Collections.sort(constraints, Comparator.comparingInt(Set::size));
+        List<String> matchingIds = new ArrayList<>();
+        for (String id : constraints.get(0)) {
+            // Candidates come from other indexes and may name a teacher removed since
+            if (!teachersById.containsKey(id)) continue;
+            boolean inAll = true;
+            for (int i = 1; i < constraints.size() && inAll; i++) {
+                inAll = constraints.get(i).contains(id);
+            }
+            if (inAll) matchingIds.add(id);
+        }
+
+        Collections.sort(matchingIds, Comparator.comparingLong(insertionOrder::get));
+        List<Teacher> results = new ArrayList<>(matchingIds.size());
+        for (String id : matchingIds) {
+            results.add(teachersById.get(id));
+        }
+        return results;
+    }
+
+    /**
+     * Indexed location tokens (city, locality, pincode) starting with the last
+     * token of the given text, most common first
+     */
+    public synchronized List<String> suggestLocations(String text, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty() || limit <= 0) return suggestions;
+
+        String prefix = tokens.get(tokens.size() - 1);
+        final SortedMap<String, Set<String>> range = prefixRange(prefix);
+        suggestions.addAll(range.keySet());
+        Collections.sort(suggestions, (a, b) -> Integer.compare(range.get(b).size(), range.get(a).size()));
+        return suggestions.size() > limit ? new ArrayList<>(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    /**
+     * Normalize a filter value or indexed field for comparison
+     */
+    public static String normalize(String value) {
+        if (value == null) return "";
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Split free text (addresses, location queries) into lowercase tokens
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        for (String part : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!part.isEmpty()) tokens.add(part);
+        }
+        return tokens;
+    }
+
+    private static String keyOf(Teacher teacher) {
+        if (teacher == null) return null;
+        return teacher.getId() != null ? teacher.getId() : teacher.getUserId();
+    }
+
+    private static Set<String> subjectTokens(Teacher teacher) {
+        Set<String> subjects = new LinkedHashSet<>();
+        if (teacher.getSubjectsTaught() != null) {
+            for (String subject : teacher.getSubjectsTaught()) {
+                String normalized = normalize(subject);
+                if (!normalized.isEmpty()) subjects.add(normalized);
+            }
+        }
+        // Legacy comma separated "subjects" field
+        if (teacher.getSubjects() != null) {
+            for (String subject : teacher.getSubjects().split(",")) {
+                String normalized = normalize(subject);
+                if (!normalized.isEmpty()) subjects.add(normalized);
+            }
+        }
+        return subjects;
+    }
+
+    private static Set<String> streamTokens(Teacher teacher) {
+        Set<String> streams = new LinkedHashSet<>();
+        if (teacher.getTeachingStreams() != null) {
+            for (String stream : teacher.getTeachingStreams()) {
+                String normalized = normalize(stream);
+                if (!normalized.isEmpty()) streams.add(normalized);
+            }
+        }
+        return streams;
+    }
+
+    private static Set<String> locationTokens(Teacher teacher) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(tokenize(teacher.getAddress()));
+        tokens.addAll(tokenize(teacher.getLocation()));
+        return tokens;
+    }
+
+    private static void addPosting(Map<String, Set<String>> postings, String token, String id) {
+        Set<String> ids = postings.get(token);
+        if (ids == null) {
+            ids = new HashSet<>();
+            postings.put(token, ids);
+        }
+        ids.add(id);
+    }
+
+    private static Set<String> postingsFor(Map<String, Set<String>> postings, String token) {
+        Set<String> ids = postings.get(token);
+        return ids != null ? ids : Collections.<String>emptySet();
+    }
+
+    private SortedMap<String, Set<String>> prefixRange(String prefix) {
+        // Every token with the prefix sorts before prefix + the highest char
+        return locationPostings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    /**
+     * Teachers having any location token that starts with the prefix
+     */
+    private Set<String> locationPrefixPostings(String prefix) {
+        SortedMap<String, Set<String>> range = prefixRange(prefix);
+        if (range.size() == 1) return range.values().iterator().next();
+        Set<String> ids = new HashSet<>();
+        for (Set<String> posting : range.values()) {
+            ids.addAll(posting);
+        }
+        return ids;
+    }
+
+    private void removePostings(String id) {
+        IndexedTokens previous = tokensById.remove(id);
+        if (previous == null) return;
+        removeFrom(subjectPostings, previous.subjects, id);
+        removeFrom(streamPostings, previous.streams, id);
+        removeFrom(locationPostings, previous.locations, id);
+    }
+
+    private static void removeFrom(Map<String, Set<String>> postings, Set<String> tokens, String id) {
+        for (String token : tokens) {
+            Set<String> ids = postings.get(token);
+            if (ids == null) continue;
+            ids.remove(id);
+            if (ids.isEmpty()) postings.remove(token);
+        }
+    }
+
+    /**
+     * Normalized tokens a teacher was indexed under, kept so that postings can
+     * be removed even if the Teacher instance is later mutated or replaced.
+     */
+    private static class IndexedTokens {
+        final Set<String> subjects;
+        final Set<String> streams;
+        final Set<String> locations;
+
+        IndexedTokens(Teacher teacher) {
+            subjects = subjectTokens(teacher);
+            streams = streamTokens(teacher);
+            locations = locationTokens(teacher);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IndexedTokens)) return false;
+            IndexedTokens other = (IndexedTokens) o;
+            return subjects.equals(other.subjects) && streams.equals(other.streams)
+                    && locations.equals(other.locations);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * subjects.hashCode() + streams.hashCode()) + locations.hashCode();
+        }
+    }
+}
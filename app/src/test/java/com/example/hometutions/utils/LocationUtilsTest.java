@@ -0,0 +1,27 @@
+package com.example.hometutions.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LocationUtilsTest {
+
+    @Test
+    public void parseDistanceRange_readsBoundedRanges() {
+        assertArrayEquals(new double[]{0, 5}, LocationUtils.parseDistanceRange("0-5 km"), 0);
+        assertArrayEquals(new double[]{10, 20}, LocationUtils.parseDistanceRange(" 10 - 20 KM "), 0);
+    }
+
+    @Test
+    public void parseDistanceRange_readsOpenEndedRange() {
+        assertArrayEquals(new double[]{20, Double.POSITIVE_INFINITY},
+                LocationUtils.parseDistanceRange("20+ km"), 0);
+    }
+
+    @Test
+    public void parseDistanceRange_returnsNullForAnyOrUnknownLabels() {
+        assertNull(LocationUtils.parseDistanceRange(null));
+        assertNull(LocationUtils.parseDistanceRange("Any Distance"));
+        assertNull(LocationUtils.parseDistanceRange("near-by km"));
+    }
+}
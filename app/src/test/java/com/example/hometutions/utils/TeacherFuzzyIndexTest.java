@@ -0,0 +1,122 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Teacher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class TeacherFuzzyIndexTest {
+
+    private TeacherFuzzyIndex index;
+
+    private static Teacher teacher(String id, String name, String institution, String... subjects) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setFullName(name);
+        teacher.setInstitution(institution);
+        teacher.setSubjectsTaught(Arrays.asList(subjects));
+        return teacher;
+    }
+
+    @Before
+    public void setUp() {
+        index = new TeacherFuzzyIndex();
+        index.put(teacher("anita", "Anita Sharma", "Fergusson College", "Chemistry"));
+        index.put(teacher("rahul", "Rahul Verma", null, "Mathematics", "Physics"));
+        index.put(teacher("priya", "Priya Nair", "IIT Bombay", "Physics"));
+    }
+
+    @Test
+    public void similarity_exactTypoAndPrefix() {
+        assertEquals(1.0, TeacherFuzzyIndex.similarity("chemistry", "chemistry", 2), 1e-9);
+        // One substitution over a ten character row
+        assertEquals(0.9, TeacherFuzzyIndex.similarity("chemestry", "chemistry", 2), 1e-9);
+        // Exact prefix, scaled down against whole words
+        assertEquals(0.8, TeacherFuzzyIndex.similarity("phy", "physics", 1), 1e-9);
+        assertEquals(0.0, TeacherFuzzyIndex.similarity("xyz", "physics", 1), 1e-9);
+        // Too many edits for the bound
+        assertEquals(0.0, TeacherFuzzyIndex.similarity("chmstry", "chemistry", 1), 1e-9);
+    }
+
+    @Test
+    public void similarity_shortWordsMustMatchWholeWords() {
+        assertEquals(1.0, TeacherFuzzyIndex.similarity("ab", "ab", 0), 1e-9);
+        assertEquals(0.0, TeacherFuzzyIndex.similarity("ab", "abc", 0), 1e-9);
+    }
+
+    @Test
+    public void maxEdits_growsWithWordLength() {
+        assertEquals(0, TeacherFuzzyIndex.maxEdits(2));
+        assertEquals(1, TeacherFuzzyIndex.maxEdits(3));
+        assertEquals(1, TeacherFuzzyIndex.maxEdits(5));
+        assertEquals(2, TeacherFuzzyIndex.maxEdits(6));
+    }
+
+    @Test
+    public void search_toleratesTypos() {
+        assertEquals(Collections.singletonList("anita"), index.search("Chemestry", 10));
+        assertEquals(Collections.singletonList("priya"), index.search("Bombey", 10));
+        assertEquals(Collections.singletonList("rahul"), index.search("mathematcs", 10));
+    }
+
+    @Test
+    public void search_matchesPrefixes() {
+        assertEquals(Arrays.asList("rahul", "priya"), index.search("phy", 10));
+        assertEquals(Collections.singletonList("rahul"), index.search("Maths", 10));
+        assertEquals(Collections.singletonList("anita"), index.search("ferg", 10));
+    }
+
+    @Test
+    public void search_requiresEveryWord() {
+        assertEquals(Collections.singletonList("priya"), index.search("physics bombay", 10));
+        assertEquals(Collections.singletonList("rahul"), index.search("Rahul Physcs", 10));
+        assertTrue(index.search("anita physics", 10).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search("zzzz", 10).isEmpty());
+    }
+
+    @Test
+    public void search_ranksExactWordsAbovePrefixes() {
+        index.put(teacher("dev", "Dev Physician", null, "Biology"));
+        assertEquals(Arrays.asList("rahul", "priya", "dev"), index.search("physic", 10));
+    }
+
+    @Test
+    public void search_heapKeepsInsertionOrderAmongTies() {
+        TeacherFuzzyIndex ties = new TeacherFuzzyIndex();
+        for (int i = 0; i < 6; i++) {
+            ties.put(teacher("t" + i, "Teacher " + i, null, "Physics"));
+        }
+        assertEquals(Arrays.asList("t0", "t1", "t2"), ties.search("physics", 3));
+        assertEquals(6, ties.search("physics", Integer.MAX_VALUE).size());
+        assertTrue(ties.search("physics", 0).isEmpty());
+    }
+
+    @Test
+    public void search_onlyAmongCandidates() {
+        assertEquals(Collections.singletonList("priya"),
+                index.search("physics", new HashSet<>(Collections.singletonList("priya")), 1));
+        assertTrue(index.search("physics", new HashSet<>(Collections.singletonList("anita")), 10).isEmpty());
+    }
+
+    @Test
+    public void putAndRemove_updateTheIndex() {
+        index.remove("rahul");
+        assertEquals(Collections.singletonList("priya"), index.search("physics", 10));
+
+        index.put(teacher("anita", "Anita Sharma", null, "Physics"));
+        assertEquals(Arrays.asList("anita", "priya"), index.search("physics", 10));
+        assertTrue(index.search("chemistry", 10).isEmpty());
+        assertEquals(2, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.search("physics", 10).isEmpty());
+    }
+}
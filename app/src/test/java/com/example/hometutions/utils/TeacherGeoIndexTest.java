@@ -0,0 +1,103 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Teacher;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TeacherGeoIndexTest {
+
+    // Pune city centre
+    private static final double LAT = 18.5204;
+    private static final double LON = 73.8567;
+
+    private static final double KM_PER_DEGREE = 111.195; // along a meridian for the haversine radius
+
+    private static Set<String> setOf(String... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    @Test
+    public void haversineKm_matchesKnownDistances() {
+        assertEquals(0.0, TeacherGeoIndex.haversineKm(LAT, LON, LAT, LON), 1e-9);
+        // One degree of latitude
+        assertEquals(KM_PER_DEGREE, TeacherGeoIndex.haversineKm(10, 20, 11, 20), 0.01);
+        // Mumbai to Pune
+        assertEquals(120.0, TeacherGeoIndex.haversineKm(19.0760, 72.8777, LAT, LON), 2.0);
+        // Symmetric
+        assertEquals(TeacherGeoIndex.haversineKm(19.0760, 72.8777, LAT, LON),
+                TeacherGeoIndex.haversineKm(LAT, LON, 19.0760, 72.8777), 1e-9);
+    }
+
+    @Test
+    public void withinRange_appliesExactCutoffOnBothBounds() {
+        TeacherGeoIndex index = new TeacherGeoIndex();
+        index.put("near", LAT + 4.9 / KM_PER_DEGREE, LON);
+        index.put("edge", LAT + 5.1 / KM_PER_DEGREE, LON);
+        index.put("mid", LAT - 7 / KM_PER_DEGREE, LON);
+        index.put("far", LAT + 25 / KM_PER_DEGREE, LON);
+
+        assertEquals(setOf("near"), index.withinRange(LAT, LON, 0, 5));
+        assertEquals(setOf("edge", "mid"), index.withinRange(LAT, LON, 5, 10));
+        assertEquals(setOf("far"), index.withinRange(LAT, LON, 20, Double.POSITIVE_INFINITY));
+        assertEquals(setOf("near", "edge", "mid", "far"),
+                index.withinRange(LAT, LON, 0, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void withinRange_findsPointsInNeighbouringCells() {
+        TeacherGeoIndex index = new TeacherGeoIndex();
+        // Fill the index so the cell walk is used rather than the small-index full scan
+        for (int i = 0; i < 500; i++) {
+            index.put("filler" + i, -40 + i * 0.1, -60);
+        }
+        // 0.05 degree cells: the origin sits just below a row edge and left of a column edge
+        double lat = 18.4999;
+        double lon = 73.7499;
+        index.put("north", 18.5001, lon);
+        index.put("east", lat, 73.7501);
+        index.put("diagonal", 18.5001, 73.7501);
+        index.put("outside", lat + 3 / KM_PER_DEGREE, lon);
+
+        assertEquals(setOf("north", "east", "diagonal"), index.withinRange(lat, lon, 0, 1));
+    }
+
+    @Test
+    public void withinRange_wrapsAcrossTheAntimeridian() {
+        TeacherGeoIndex index = new TeacherGeoIndex();
+        for (int i = 0; i < 500; i++) {
+            index.put("filler" + i, -40 + i * 0.1, 0);
+        }
+        index.put("west", -17.7, 179.99);
+        index.put("east", -17.7, -179.99);
+
+        assertEquals(setOf("west", "east"), index.withinRange(-17.7, 179.995, 0, 5));
+    }
+
+    @Test
+    public void put_movesAndRemovesTeachers() {
+        TeacherGeoIndex index = new TeacherGeoIndex();
+        Teacher teacher = new Teacher();
+        teacher.setId("t");
+        teacher.setLatitude(LAT);
+        teacher.setLongitude(LON);
+        index.put(teacher);
+        assertEquals(setOf("t"), index.withinRange(LAT, LON, 0, 1));
+
+        teacher.setLatitude(LAT + 30 / KM_PER_DEGREE);
+        index.put(teacher);
+        assertTrue(index.withinRange(LAT, LON, 0, 1).isEmpty());
+        assertEquals(setOf("t"), index.withinRange(LAT, LON, 20, 40));
+        assertEquals(1, index.size());
+
+        // Losing its coordinates takes the teacher out of the index
+        teacher.setLatitude(null);
+        index.put(teacher);
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Student;
+import com.example.hometutions.models.Teacher;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.Assert.*;
+
+public class TeacherRankerTest {
+
+    private static Student student() {
+        Student student = new Student();
+        student.setSubjectsNeeded(Arrays.asList("Maths", "Physics"));
+        student.setTuitionStreams(Arrays.asList("CBSE"));
+        student.setMinBudget(300);
+        student.setMaxBudget(500);
+        student.setPreferredTeacherGender("Female");
+        student.setPreferredTimeSlot("Evening");
+        return student;
+    }
+
+    private static Teacher perfectTeacher(String id) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setSubjectsTaught(Arrays.asList("maths", "PHYSICS"));
+        teacher.setTeachingStreams(Arrays.asList("CBSE"));
+        teacher.setHourlyRate("400");
+        teacher.setGender("female");
+        teacher.setRating("5");
+        teacher.setYearsOfExperience(20);
+        teacher.setAvailability("Weekday evenings");
+        return teacher;
+    }
+
+    private static List<String> ids(List<Teacher> teachers) {
+        List<String> ids = new ArrayList<>();
+        for (Teacher teacher : teachers) ids.add(teacher.getId());
+        return ids;
+    }
+
+    @Test
+    public void score_perfectMatchIsOne() {
+        assertEquals(1.0, new TeacherRanker(student()).score(perfectTeacher("t")), 1e-9);
+    }
+
+    @Test
+    public void score_weightsEachCriterion() {
+        TeacherRanker ranker = new TeacherRanker(student());
+
+        Teacher halfSubjects = perfectTeacher("t");
+        halfSubjects.setSubjectsTaught(Arrays.asList("Maths", "Chemistry"));
+        assertEquals(1.0 - 0.30 / 2, ranker.score(halfSubjects), 1e-9);
+
+        Teacher otherStream = perfectTeacher("t");
+        otherStream.setTeachingStreams(Arrays.asList("ICSE"));
+        assertEquals(1.0 - 0.20, ranker.score(otherStream), 1e-9);
+
+        // 100 over a 500 maximum loses a fifth of the budget weight
+        Teacher overBudget = perfectTeacher("t");
+        overBudget.setHourlyRate("600");
+        assertEquals(1.0 - 0.15 / 5, ranker.score(overBudget), 1e-9);
+
+        Teacher otherGender = perfectTeacher("t");
+        otherGender.setGender("Male");
+        assertEquals(1.0 - 0.10, ranker.score(otherGender), 1e-9);
+
+        Teacher lowRating = perfectTeacher("t");
+        lowRating.setRating("2.5");
+        assertEquals(1.0 - 0.10 / 2, ranker.score(lowRating), 1e-9);
+
+        Teacher junior = perfectTeacher("t");
+        junior.setYearsOfExperience(5);
+        assertEquals(1.0 - 0.10 * 3 / 4, ranker.score(junior), 1e-9);
+
+        Teacher mornings = perfectTeacher("t");
+        mornings.setAvailability("Mornings");
+        assertEquals(1.0 - 0.05, ranker.score(mornings), 1e-9);
+    }
+
+    @Test
+    public void score_readsLegacyFields() {
+        Teacher legacy = perfectTeacher("t");
+        legacy.setSubjectsTaught(null);
+        legacy.setSubjects("Maths, Physics");
+        legacy.setYearsOfExperience(0);
+        legacy.setExperience("20 years");
+        legacy.setHourlyRate("400/hr");
+        assertEquals(1.0, new TeacherRanker(student()).score(legacy), 1e-9);
+    }
+
+    @Test
+    public void score_isNeutralWithoutPreferences() {
+        Teacher teacher = new Teacher();
+        teacher.setRating(null);
+        // Half of subjects, streams, budget and time slot, full gender, default 4.5 rating
+        double expected = 0.5 * (0.30 + 0.20 + 0.15 + 0.05) + 0.10 + 0.10 * 4.5 / 5;
+        assertEquals(expected, new TeacherRanker(new Student()).score(teacher), 1e-9);
+    }
+
+    @Test
+    public void topK_returnsBestFirst() {
+        Teacher best = perfectTeacher("best");
+        Teacher middle = perfectTeacher("middle");
+        middle.setGender("Male");
+        Teacher worst = perfectTeacher("worst");
+        worst.setSubjectsTaught(Arrays.asList("History"));
+
+        TeacherRanker ranker = new TeacherRanker(student());
+        assertEquals(Arrays.asList("best", "middle", "worst"),
+                ids(ranker.topK(Arrays.asList(worst, best, middle), 5)));
+        assertEquals(Arrays.asList("best", "middle"),
+                ids(ranker.topK(Arrays.asList(worst, best, middle), 2)));
+    }
+
+    @Test
+    public void topK_keepsInputOrderAmongTies() {
+        List<Teacher> candidates = new ArrayList<>();
+        for (int i = 0; i < 6; i++) candidates.add(perfectTeacher("t" + i));
+        Teacher weaker = perfectTeacher("weaker");
+        weaker.setGender("Male");
+        candidates.add(1, weaker);
+
+        TeacherRanker ranker = new TeacherRanker(student());
+        // Earlier ties win the last heap slots
+        assertEquals(Arrays.asList("t0", "t1", "t2"), ids(ranker.topK(candidates, 3)));
+        assertEquals(Arrays.asList("t0", "t1", "t2", "t3", "t4", "t5", "weaker"),
+                ids(ranker.topK(candidates, 10)));
+    }
+
+    @Test
+    public void topK_handlesEmptyInput() {
+        TeacherRanker ranker = new TeacherRanker(student());
+        assertTrue(ranker.topK(Arrays.asList(perfectTeacher("t")), 0).isEmpty());
+        assertTrue(ranker.topK(null, 5).isEmpty());
+        assertEquals(Arrays.asList("t"), ids(ranker.topK(Arrays.asList(null, perfectTeacher("t")), 5)));
+    }
+
+    @Test
+    public void topK_stopsWhenInterrupted() {
+        TeacherRanker ranker = new TeacherRanker(student());
+        Thread.currentThread().interrupt();
+        try {
+            ranker.topK(Arrays.asList(perfectTeacher("t")), 5);
+            fail("Expected the interrupted ranking to be cancelled");
+        } catch (CancellationException expected) {
+            // Cancelled before scoring anything
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.hometutions.utils;
+
+import com.example.hometutions.models.Teacher;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TeacherSearchIndexTest {
+
+    private static Teacher teacher(String id, String address, List<String> subjects, List<String> streams) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setAddress(address);
+        teacher.setSubjectsTaught(subjects);
+        teacher.setTeachingStreams(streams);
+        return teacher;
+    }
+
+    private static List<String> ids(List<Teacher> teachers) {
+        List<String> ids = new ArrayList<>();
+        for (Teacher teacher : teachers) ids.add(teacher.getId());
+        return ids;
+    }
+
+    private static TeacherSearchIndex sampleIndex() {
+        TeacherSearchIndex index = new TeacherSearchIndex();
+        index.put(teacher("a", "Andheri West, Mumbai 400058",
+                Arrays.asList("Physics", "Chemistry"), Arrays.asList("JEE Preparation")));
+        index.put(teacher("b", "Kothrud, Pune 411038",
+                Arrays.asList("Mathematics", "Physics"), Arrays.asList("12th Class")));
+        index.put(teacher("c", "Andheri East, Mumbai 400069",
+                Arrays.asList("Biology"), Arrays.asList("NEET Preparation", "12th Class")));
+        return index;
+    }
+
+    @Test
+    public void tokenize_splitsOnNonAlphanumericsAndLowercases() {
+        assertEquals(Arrays.asList("andheri", "west", "mumbai", "400058"),
+                TeacherSearchIndex.tokenize("  Andheri-West, MUMBAI 400058."));
+        assertTrue(TeacherSearchIndex.tokenize(null).isEmpty());
+        assertTrue(TeacherSearchIndex.tokenize(" ,- ").isEmpty());
+    }
+
+    @Test
+    public void normalize_trimsAndLowercases() {
+        assertEquals("jee preparation", TeacherSearchIndex.normalize("  JEE Preparation "));
+        assertEquals("", TeacherSearchIndex.normalize(null));
+    }
+
+    @Test
+    public void query_withoutFiltersReturnsEveryTeacherInInsertionOrder() {
+        assertEquals(Arrays.asList("a", "b", "c"), ids(sampleIndex().query(null, "", "  ")));
+    }
+
+    @Test
+    public void query_intersectsSubjectStreamAndLocationPostings() {
+        TeacherSearchIndex index = sampleIndex();
+        assertEquals(Arrays.asList("a", "b"), ids(index.query(null, "physics", null)));
+        assertEquals(Arrays.asList("b"), ids(index.query("12th Class", "Physics", null)));
+        assertEquals(Arrays.asList("c"), ids(index.query("12th class", null, "mumbai")));
+        assertTrue(index.query("NEET Preparation", "Physics", null).isEmpty());
+    }
+
+    @Test
+    public void query_matchesLegacyCommaSeparatedSubjects() {
+        TeacherSearchIndex index = new TeacherSearchIndex();
+        Teacher legacy = teacher("d", "Pune", null, null);
+        legacy.setSubjects("English, History");
+        index.put(legacy);
+        assertEquals(Arrays.asList("d"), ids(index.query(null, "history", null)));
+    }
+
+    @Test
+    public void query_treatsOnlyTheLastLocationTokenAsPrefix() {
+        TeacherSearchIndex index = sampleIndex();
+        assertEquals(Arrays.asList("a", "c"), ids(index.query(null, null, "andheri mum")));
+        assertEquals(Arrays.asList("a"), ids(index.query(null, null, "andheri we")));
+        // Earlier tokens must match a whole token
+        assertTrue(index.query(null, null, "andh mumbai").isEmpty());
+        assertEquals(Arrays.asList("a", "c"), ids(index.query(null, null, "4000")));
+    }
+
+    @Test
+    public void query_restrictsToCandidateIds() {
+        TeacherSearchIndex index = sampleIndex();
+        assertEquals(Arrays.asList("b"),
+                ids(index.query(null, "Physics", null, new HashSet<>(Arrays.asList("b", "c")))));
+        assertTrue(index.query(null, null, null, Collections.<String>emptySet()).isEmpty());
+    }
+
+    @Test
+    public void query_skipsCandidateIdsOfRemovedTeachers() {
+        TeacherSearchIndex index = sampleIndex();
+        index.remove("b");
+        assertTrue(index.query(null, null, null, new HashSet<>(Arrays.asList("gone"))).isEmpty());
+        assertEquals(Arrays.asList("a", "c"),
+                ids(index.query(null, null, null, new HashSet<>(Arrays.asList("c", "b", "gone", "a")))));
+        assertEquals(Arrays.asList("a"),
+                ids(index.query(null, "Physics", null, new HashSet<>(Arrays.asList("a", "b")))));
+    }
+
+    @Test
+    public void put_replacesPostingsOfAChangedTeacher() {
+        TeacherSearchIndex index = sampleIndex();
+        index.put(teacher("a", "Kothrud, Pune", Arrays.asList("English"), null));
+
+        assertEquals(Arrays.asList("b"), ids(index.query(null, "Physics", null)));
+        assertEquals(Arrays.asList("a"), ids(index.query(null, "English", null)));
+        assertEquals(Arrays.asList("c"), ids(index.query(null, null, "andheri")));
+        // Re-indexing keeps the teacher's original position
+        assertEquals(Arrays.asList("a", "b"), ids(index.query(null, null, "kothrud")));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void remove_dropsTeacherFromAllPostings() {
+        TeacherSearchIndex index = sampleIndex();
+        index.remove("a");
+
+        assertNull(index.get("a"));
+        assertEquals(Arrays.asList("b"), ids(index.query(null, "Physics", null)));
+        assertTrue(index.query("JEE Preparation", null, null).isEmpty());
+        assertFalse(index.suggestLocations("wes", 5).contains("west"));
+    }
+
+    @Test
+    public void suggestLocations_returnsPrefixMatchesMostCommonFirst() {
+        TeacherSearchIndex index = sampleIndex();
+        assertEquals(Arrays.asList("andheri"), index.suggestLocations("and", 5));
+        assertEquals(Arrays.asList("400058", "400069", "411038"), sorted(index.suggestLocations("4", 5)));
+        // Only the last typed word is completed
+        assertEquals(Arrays.asList("mumbai"), index.suggestLocations("andheri mu", 5));
+
+        index.put(teacher("d", "Mumbai Central", null, null));
+        assertEquals("mumbai", index.suggestLocations("m", 5).get(0));
+    }
+
+    @Test
+    public void suggestLocations_honoursLimitAndEmptyInput() {
+        TeacherSearchIndex index = sampleIndex();
+        assertEquals(2, index.suggestLocations("4", 2).size());
+        assertTrue(index.suggestLocations("", 5).isEmpty());
+        assertTrue(index.suggestLocations("x", 5).isEmpty());
+        assertTrue(index.suggestLocations("and", 0).isEmpty());
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> copy = new ArrayList<>(values);
+        Collections.sort(copy);
+        return copy;
+    }
+}